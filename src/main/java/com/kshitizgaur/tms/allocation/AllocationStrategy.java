@@ -0,0 +1,16 @@
+package com.kshitizgaur.tms.allocation;
+
+/**
+ * How concurrent bookings on the same load are kept from allocating more
+ * trucks than the load needs.
+ */
+public enum AllocationStrategy {
+    /** Bump the load's version; a booking that raced another one fails at commit and is retried */
+    OPTIMISTIC,
+
+    /** {@code SELECT ... FOR UPDATE} on the load row; bookings on a load wait for each other in the database */
+    PESSIMISTIC,
+
+    /** In-process lock per load ID stripe, held until commit; only valid for a single application instance */
+    STRIPED
+}
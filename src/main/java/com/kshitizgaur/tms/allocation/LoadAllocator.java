@@ -0,0 +1,116 @@
+package com.kshitizgaur.tms.allocation;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kshitizgaur.tms.entity.Load;
+import com.kshitizgaur.tms.exception.ResourceNotFoundException;
+import com.kshitizgaur.tms.repository.LoadRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Allocates trucks of a load to a booking without over-allocating when
+ * bookings for different bids of the same load run concurrently.
+ *
+ * The remaining-trucks check and the counter increment are made safe by the
+ * configured {@link AllocationStrategy} ({@code tms.booking.allocation-strategy}):
+ * <ul>
+ * <li>OPTIMISTIC forces a version increment of the load, so of two bookings
+ * that read the same version only the first to commit succeeds; the other
+ * fails with an optimistic-lock conflict and is re-run by the retry layer.</li>
+ * <li>PESSIMISTIC reads the remaining trucks with {@code SELECT ... FOR UPDATE},
+ * so bookings on one load queue on its row lock until the holder commits.</li>
+ * <li>STRIPED takes an in-process lock for the load's stripe and releases it
+ * after the transaction completes. It needs no database support but only
+ * serializes bookings made through this JVM.</li>
+ * </ul>
+ * Must be called inside the booking transaction.
+ */
+@Component
+@Slf4j
+public class LoadAllocator {
+
+    private final LoadRepository loadRepository;
+    private final EntityManager entityManager;
+    private final AllocationStrategy strategy;
+    private final ReentrantLock[] stripes;
+
+    public LoadAllocator(
+            LoadRepository loadRepository,
+            EntityManager entityManager,
+            @Value("${tms.booking.allocation-strategy:OPTIMISTIC}") AllocationStrategy strategy,
+            @Value("${tms.booking.allocation-stripes:64}") int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("tms.booking.allocation-stripes must be at least 1");
+        }
+        this.loadRepository = loadRepository;
+        this.entityManager = entityManager;
+        this.strategy = strategy;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        log.info("Booking allocation strategy: {}", strategy);
+    }
+
+    public AllocationStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Add {@code trucks} to the load's allocated trucks if that many are still
+     * needed.
+     *
+     * @param load the load as read in the current transaction
+     * @throws IllegalArgumentException if fewer trucks remain
+     */
+    public void allocate(Load load, int trucks) {
+        UUID loadId = load.getLoadId();
+        int remainingTrucks = switch (strategy) {
+            case OPTIMISTIC -> {
+                entityManager.lock(load, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+                yield loadRepository.findRemainingTrucks(loadId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Load", "loadId", loadId));
+            }
+            case PESSIMISTIC -> loadRepository.lockRemainingTrucks(loadId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Load", "loadId", loadId));
+            case STRIPED -> {
+                lockUntilCompletion(loadId);
+                yield loadRepository.findRemainingTrucks(loadId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Load", "loadId", loadId));
+            }
+        };
+
+        if (trucks > remainingTrucks) {
+            throw new IllegalArgumentException(
+                    "Allocated trucks (" + trucks + ") exceeds remaining trucks needed (" + remainingTrucks + ")");
+        }
+        loadRepository.adjustAllocatedTrucks(loadId, trucks);
+    }
+
+    /**
+     * Lock the load's stripe and release it once the current transaction has
+     * committed or rolled back, so the next booking reads the committed counter.
+     */
+    private void lockUntilCompletion(UUID loadId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Striped allocation requires an active transaction");
+        }
+        ReentrantLock lock = stripes[Math.floorMod(loadId.hashCode(), stripes.length)];
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
@@ -0,0 +1,190 @@
+package com.kshitizgaur.tms.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import com.kshitizgaur.tms.dto.response.BestBidDTO;
+import com.kshitizgaur.tms.dto.response.BidRankDTO;
+import com.kshitizgaur.tms.scoring.BidScorer;
+
+/**
+ * Pending bids of one load kept ordered by score (best first).
+ * Adds and removals are O(log n); top-K reads walk only K entries.
+ * Scores come from a {@link BidScorer}; when the scorer normalizes rates per
+ * load, a bid that changes the load's lowest rate re-scores the whole load
+ * in one batch. All methods are synchronized so a ranking can be updated by
+ * commit listeners while request threads read it.
+ *
+ * Entries are never mutated once ranked: scoring stores a scored copy of
+ * the bid and re-scoring replaces every entry, and reads hand out copies,
+ * so callers never see a score change under them.
+ */
+public class BidRanking {
+
+    /**
+     * Rule 5 ordering: higher score first, ties broken by bid ID so the order is total.
+     */
+    static final Comparator<BestBidDTO> BY_SCORE = Comparator
+            .comparingDouble(BestBidDTO::getScore).reversed()
+            .thenComparing(BestBidDTO::getBidId);
+
+    private final BidScorer scorer;
+    private final TreeSet<BestBidDTO> ranked = new TreeSet<>(BY_SCORE);
+    private final Map<UUID, BestBidDTO> byBidId = new HashMap<>();
+
+    /**
+     * Pending rates with their bid counts, for the load's lowest rate.
+     */
+    private final TreeMap<Double, Integer> rates = new TreeMap<>();
+    private double referenceRate = Double.NaN;
+
+    public BidRanking(BidScorer scorer) {
+        this.scorer = scorer;
+    }
+
+    public static BidRanking of(Collection<BestBidDTO> bids, BidScorer scorer) {
+        BidRanking ranking = new BidRanking(scorer);
+        synchronized (ranking) {
+            bids.forEach(bid -> {
+                ranking.byBidId.put(bid.getBidId(), bid);
+                ranking.rates.merge(bid.getProposedRate(), 1, Integer::sum);
+            });
+            ranking.rescoreAll();
+        }
+        return ranking;
+    }
+
+    /**
+     * Insert or replace a bid, scoring a copy of it against the load.
+     */
+    public synchronized void add(BestBidDTO bid) {
+        removeEntry(bid.getBidId());
+        rates.merge(bid.getProposedRate(), 1, Integer::sum);
+
+        if (scorer.referenceRate(rates.firstKey()) != referenceRate) {
+            byBidId.put(bid.getBidId(), bid);
+            rescoreAll();
+        } else {
+            BestBidDTO scored = bid.toBuilder()
+                    .score(scorer.score(bid.getProposedRate(), bid.getTransporterRating(), referenceRate))
+                    .build();
+            byBidId.put(scored.getBidId(), scored);
+            ranked.add(scored);
+        }
+    }
+
+    /**
+     * Remove a bid; no-op if it is not ranked.
+     */
+    public synchronized void remove(UUID bidId) {
+        if (removeEntry(bidId) && !rates.isEmpty() && scorer.referenceRate(rates.firstKey()) != referenceRate) {
+            rescoreAll();
+        }
+    }
+
+    /**
+     * Copies of the best {@code limit} bids, or of all bids when limit is null.
+     */
+    public synchronized List<BestBidDTO> top(Integer limit) {
+        int count = limit == null ? ranked.size() : Math.min(limit, ranked.size());
+        List<BestBidDTO> result = new ArrayList<>(count);
+        Iterator<BestBidDTO> it = ranked.iterator();
+        while (result.size() < count) {
+            result.add(it.next().toBuilder().build());
+        }
+        return result;
+    }
+
+    /**
+     * Best {@code limit} bids (all when null) under another scorer, such as
+     * custom weights for one request. Scores a copy of the bids in one batch;
+     * this ranking is left unchanged.
+     */
+    public List<BestBidDTO> top(Integer limit, BidScorer other) {
+        List<BestBidDTO> bids;
+        synchronized (this) {
+            bids = new ArrayList<>(byBidId.values());
+        }
+        double[] scores = scores(other, bids);
+
+        List<BestBidDTO> rescored = new ArrayList<>(bids.size());
+        for (int i = 0; i < bids.size(); i++) {
+            BestBidDTO copy = bids.get(i).toBuilder().score(scores[i]).build();
+            rescored.add(copy);
+        }
+        rescored.sort(BY_SCORE);
+        return limit == null || limit >= rescored.size() ? rescored : rescored.subList(0, limit);
+    }
+
+    /**
+     * Rank of a bid (1 = best), or empty if the bid is not pending on this load.
+     * Counts only the bids ranked above it instead of sorting the whole load.
+     */
+    public synchronized Optional<BidRankDTO> rankOf(UUID bidId) {
+        BestBidDTO bid = byBidId.get(bidId);
+        if (bid == null) {
+            return Optional.empty();
+        }
+        return Optional.of(BidRankDTO.builder()
+                .loadId(bid.getLoadId())
+                .bidId(bidId)
+                .rank(ranked.headSet(bid, false).size() + 1)
+                .totalBids(ranked.size())
+                .score(bid.getScore())
+                .build());
+    }
+
+    public synchronized int size() {
+        return ranked.size();
+    }
+
+    /**
+     * Drop a bid from every structure; caller holds the lock.
+     *
+     * @return whether the bid was ranked
+     */
+    private boolean removeEntry(UUID bidId) {
+        BestBidDTO previous = byBidId.remove(bidId);
+        if (previous == null) {
+            return false;
+        }
+        ranked.remove(previous);
+        rates.computeIfPresent(previous.getProposedRate(), (rate, count) -> count == 1 ? null : count - 1);
+        return true;
+    }
+
+    /**
+     * Re-score every bid in one batch and rebuild the order from new entries;
+     * caller holds the lock.
+     */
+    private void rescoreAll() {
+        List<BestBidDTO> bids = new ArrayList<>(byBidId.values());
+        double[] scores = scores(scorer, bids);
+        ranked.clear();
+        for (int i = 0; i < bids.size(); i++) {
+            BestBidDTO scored = bids.get(i).toBuilder().score(scores[i]).build();
+            byBidId.put(scored.getBidId(), scored);
+            ranked.add(scored);
+        }
+        referenceRate = rates.isEmpty() ? Double.NaN : scorer.referenceRate(rates.firstKey());
+    }
+
+    private static double[] scores(BidScorer scorer, List<BestBidDTO> bids) {
+        double[] bidRates = new double[bids.size()];
+        double[] ratings = new double[bids.size()];
+        for (int i = 0; i < bids.size(); i++) {
+            bidRates[i] = bids.get(i).getProposedRate();
+            ratings[i] = bids.get(i).getTransporterRating();
+        }
+        return scorer.scoreAll(bidRates, ratings);
+    }
+}
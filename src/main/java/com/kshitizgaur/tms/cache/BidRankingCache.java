@@ -0,0 +1,120 @@
+package com.kshitizgaur.tms.cache;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-load best-bid rankings for GET /load/{loadId}/best-bids.
+ * A ranking is built lazily from the pending bids on first read and then
+ * maintained incrementally from committed {@link LoadChangedEvent}s.
+ * Updates run through the cache's atomic compute, so an event that commits
+ * while a ranking is being built is applied after the build finishes.
+ * Submitted bids are ranked from the bid carried by the event, without a
+ * query.
+ */
+@Component
+@Slf4j
+public class BidRankingCache implements MeterBinder {
+
+    static final String CACHE_NAME = "bidRanking";
+
+    /**
+     * How long removals are remembered; only needs to outlast the gap between
+     * a submission's commit and its after-commit listener.
+     */
+    private static final Duration REMOVAL_TTL = Duration.ofMinutes(1);
+
+    private final Cache<UUID, BidRanking> cache;
+
+    /**
+     * Bids recently rejected, expired or accepted, and loads whose pending bids
+     * were all closed. A bid can leave PENDING before its own BID_SUBMITTED
+     * event is applied; that late event must not add it back.
+     */
+    private final Cache<UUID, Boolean> removedBids;
+    private final Cache<UUID, Boolean> closedLoads;
+
+    public BidRankingCache(@Value("${tms.cache.bid-ranking.max-loads:1000}") long maxLoads) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxLoads)
+                .recordStats()
+                .build();
+        this.removedBids = Caffeine.newBuilder()
+                .expireAfterWrite(REMOVAL_TTL)
+                .maximumSize(maxLoads * 100)
+                .build();
+        this.closedLoads = Caffeine.newBuilder()
+                .expireAfterWrite(REMOVAL_TTL)
+                .maximumSize(maxLoads * 10)
+                .build();
+    }
+
+    /**
+     * Get the ranking of a load, building it with the loader on a miss.
+     */
+    public BidRanking get(UUID loadId, Function<UUID, BidRanking> loader) {
+        return cache.get(loadId, loader);
+    }
+
+    public void invalidate(UUID loadId) {
+        cache.invalidate(loadId);
+    }
+
+    /**
+     * Apply a committed change to the ranking of its load, if one is cached.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoadChanged(LoadChangedEvent event) {
+        switch (event.getType()) {
+            case BID_SUBMITTED -> cache.asMap().computeIfPresent(event.getLoadId(), (loadId, ranking) -> {
+                if (event.getBid() == null || closedLoads.getIfPresent(loadId) != null) {
+                    // No bid to add, or it may have been closed with the load: rebuild on the next read
+                    return null;
+                }
+                if (removedBids.getIfPresent(event.getBidId()) == null) {
+                    ranking.add(event.getBid());
+                }
+                return ranking;
+            });
+            case BID_REJECTED, BID_EXPIRED, BID_ACCEPTED, BOOKING_CREATED -> {
+                // Remembered before the removal, so a late submit event applied after it sees it
+                removedBids.put(event.getBidId(), Boolean.TRUE);
+                cache.asMap().computeIfPresent(event.getLoadId(), (loadId, ranking) -> {
+                    ranking.remove(event.getBidId());
+                    return ranking;
+                });
+            }
+            case LOAD_CANCELLED, LOAD_BOOKED, BIDS_REJECTED -> {
+                closedLoads.put(event.getLoadId(), Boolean.TRUE);
+                invalidate(event.getLoadId());
+            }
+            default -> {
+                // Booking cancellations do not bring bids back to PENDING
+            }
+        }
+        log.debug("Applied {} to bid ranking of load {}", event.getType(), event.getLoadId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
@@ -0,0 +1,102 @@
+package com.kshitizgaur.tms.cache;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kshitizgaur.tms.dto.response.LoadWithBidsDTO;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded read-through cache for GET /load/{loadId}.
+ * Entries expire after a TTL and are invalidated after commit of any
+ * transaction that changed the load. Hit/miss/eviction statistics are
+ * published as "cache.*" metrics tagged cache=loadDetails.
+ */
+@Component
+@Slf4j
+public class LoadDetailsCache implements MeterBinder {
+
+    static final String CACHE_NAME = "loadDetails";
+
+    private final Cache<UUID, LoadWithBidsDTO> cache;
+
+    public LoadDetailsCache(
+            @Value("${tms.cache.load-details.max-size:10000}") long maxSize,
+            @Value("${tms.cache.load-details.ttl:30s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get the cached details of a load, loading them on a miss.
+     * An invalidation that races with the loader waits for it and then removes
+     * the entry, so a stale value is never left behind.
+     */
+    public LoadWithBidsDTO get(UUID loadId, Function<UUID, LoadWithBidsDTO> loader) {
+        return cache.get(loadId, loader);
+    }
+
+    /**
+     * Drop the cached details of a load.
+     */
+    public void invalidate(UUID loadId) {
+        cache.invalidate(loadId);
+    }
+
+    /**
+     * Drop every cached load once the current transaction commits
+     * (immediately when no transaction is active).
+     */
+    public void invalidateAllAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidateAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Invalidate after the mutating transaction has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoadChanged(LoadChangedEvent event) {
+        log.debug("Invalidating cached load {} after {}", event.getLoadId(), event.getType());
+        invalidate(event.getLoadId());
+    }
+
+    /**
+     * Snapshot of hit/miss/eviction statistics.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
@@ -0,0 +1,299 @@
+package com.kshitizgaur.tms.cache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kshitizgaur.tms.entity.enums.LoadStatus;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
+import com.kshitizgaur.tms.repository.LoadRepository;
+import com.kshitizgaur.tms.repository.projection.OpenLoadRow;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of loads that are open for bidding (POSTED or
+ * OPEN_FOR_BIDS). Entries are kept in skip lists ordered by loading date,
+ * one per lane (normalized loading/unloading city) and one per normalized
+ * truck type, so lane searches and fleet matching are range scans instead
+ * of table queries.
+ *
+ * Built from the database in the background once the application is ready
+ * and then kept in step with committed load creation, cancellation and
+ * booking events. Each change re-reads the load's index columns as scalars
+ * in a new transaction (the committed one's persistence context may still
+ * hold the entity with stale counters), outside any map lock. Concurrent
+ * changes to one load are coalesced so one thread at a time re-reads it and
+ * reads again if another change committed meanwhile, so the last read
+ * always reflects the last commit.
+ */
+@Component
+@Slf4j
+public class OpenLoadIndex {
+
+    public static final List<LoadStatus> OPEN_STATUSES = List.of(LoadStatus.POSTED, LoadStatus.OPEN_FOR_BIDS);
+
+    private static final Comparator<Entry> BY_LOADING_DATE = Comparator
+            .comparing(Entry::loadingDate)
+            .thenComparing(Entry::loadId);
+
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID MAX_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    /**
+     * An indexed open load.
+     */
+    public record Entry(UUID loadId, String truckTypeKey, LocalDateTime loadingDate, int remainingTrucks) {
+    }
+
+    private record Lane(String loadingCityKey, String unloadingCityKey) {
+    }
+
+    private record Indexed(Lane lane, Entry entry) {
+    }
+
+    private final LoadRepository loadRepository;
+    private final TransactionTemplate readTemplate;
+
+    private final Map<Lane, NavigableSet<Entry>> lanes = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Entry>> truckTypes = new ConcurrentHashMap<>();
+    private final Map<UUID, Indexed> byLoad = new ConcurrentHashMap<>();
+
+    /**
+     * Loads changed by events while the index was warming; the warm-up
+     * snapshot of these is older than the event and must not overwrite it.
+     */
+    private final Set<UUID> touchedDuringWarmUp = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    /**
+     * Changes per load not yet covered by a re-read; present while a thread
+     * is refreshing the load.
+     */
+    private final Map<UUID, Integer> pendingRefreshes = new ConcurrentHashMap<>();
+
+    public OpenLoadIndex(LoadRepository loadRepository, PlatformTransactionManager transactionManager) {
+        this.loadRepository = loadRepository;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Whether the index has been built; searches fall back to the database until then.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Open loads on a lane, earliest loading date first.
+     *
+     * @param truckTypeKey normalized truck type, or null for any
+     * @param from         inclusive lower bound on loading date, or null
+     * @param to           inclusive upper bound on loading date, or null
+     */
+    public List<Entry> search(String loadingCityKey, String unloadingCityKey, String truckTypeKey,
+            LocalDateTime from, LocalDateTime to, int limit) {
+        NavigableSet<Entry> lane = lanes.get(new Lane(loadingCityKey, unloadingCityKey));
+        if (lane == null) {
+            return List.of();
+        }
+
+        NavigableSet<Entry> range = lane;
+        if (from != null && to != null) {
+            range = lane.subSet(new Entry(MIN_ID, null, from, 0), true, new Entry(MAX_ID, null, to, 0), true);
+        } else if (from != null) {
+            range = lane.tailSet(new Entry(MIN_ID, null, from, 0), true);
+        } else if (to != null) {
+            range = lane.headSet(new Entry(MAX_ID, null, to, 0), true);
+        }
+
+        List<Entry> result = new ArrayList<>(Math.min(limit, 64));
+        for (Entry entry : range) {
+            if (truckTypeKey == null || truckTypeKey.equals(entry.truckTypeKey())) {
+                result.add(entry);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Open loads a fleet could take on its own, earliest loading date first:
+     * loads of a truck type the fleet has whose remaining trucks do not exceed
+     * the fleet's count of that type.
+     *
+     * @param countsByTruckType available trucks per normalized truck type
+     * @param excludedLoadIds   loads to skip (e.g. already bid on)
+     * @param afterDate         loading date of the last entry of the previous page, or null
+     * @param afterId           load ID of the last entry of the previous page, or null
+     */
+    public List<Entry> match(Map<String, Integer> countsByTruckType, Set<UUID> excludedLoadIds,
+            LocalDateTime afterDate, UUID afterId, int limit) {
+        Entry after = afterDate == null ? null : new Entry(afterId, null, afterDate, 0);
+        List<Entry> matches = new ArrayList<>();
+
+        // Take up to `limit` matches per truck type, then merge by loading date
+        countsByTruckType.forEach((truckTypeKey, available) -> {
+            NavigableSet<Entry> entries = truckTypes.get(truckTypeKey);
+            if (entries == null || available <= 0) {
+                return;
+            }
+            int taken = 0;
+            for (Entry entry : after == null ? entries : entries.tailSet(after, false)) {
+                if (entry.remainingTrucks() <= available && !excludedLoadIds.contains(entry.loadId())) {
+                    matches.add(entry);
+                    if (++taken == limit) {
+                        break;
+                    }
+                }
+            }
+        });
+
+        matches.sort(BY_LOADING_DATE);
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * Build the index on a background thread so startup and the first
+     * searches do not wait for the full scan; searches use the database
+     * until it is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmUp() {
+        Thread thread = new CustomizableThreadFactory("open-load-index-").newThread(() -> {
+            try {
+                warmUp();
+            } catch (RuntimeException e) {
+                log.error("Open load lane index could not be built, searches stay on the database", e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Build the index from the open loads in the database.
+     * Runs once; later calls are no-ops.
+     */
+    public synchronized void warmUp() {
+        if (ready) {
+            return;
+        }
+        int count = readTemplate.execute(status -> {
+            int indexed = 0;
+            try (Stream<OpenLoadRow> rows = loadRepository.streamOpenLoadRows(OPEN_STATUSES)) {
+                for (OpenLoadRow row : (Iterable<OpenLoadRow>) rows::iterator) {
+                    byLoad.compute(row.loadId(), (loadId, current) -> {
+                        if (touchedDuringWarmUp.contains(loadId)) {
+                            return current;
+                        }
+                        return reindex(row, current);
+                    });
+                    indexed++;
+                }
+            }
+            return indexed;
+        });
+        ready = true;
+        touchedDuringWarmUp.clear();
+        log.info("Open load lane index built with {} loads", count);
+    }
+
+    /**
+     * Re-index a load after a committed change that can open or close it or
+     * change its remaining trucks.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoadChanged(LoadChangedEvent event) {
+        switch (event.getType()) {
+            case LOAD_CREATED, LOAD_CANCELLED, LOAD_BOOKED, BOOKING_CREATED, BOOKING_CANCELLED ->
+                refresh(event.getLoadId());
+            default -> {
+                // Bid changes do not affect whether a load is open
+            }
+        }
+    }
+
+    private void refresh(UUID loadId) {
+        if (pendingRefreshes.merge(loadId, 1, Integer::sum) > 1) {
+            // The thread refreshing this load reads it again after its current read
+            return;
+        }
+        try {
+            do {
+                OpenLoadRow row = readTemplate.execute(status -> loadRepository.findOpenLoadRow(loadId).orElse(null));
+                byLoad.compute(loadId, (id, current) -> {
+                    if (!ready) {
+                        touchedDuringWarmUp.add(id);
+                    }
+                    return reindex(row, current);
+                });
+            } while (pendingRefreshes.compute(loadId, (id, pending) -> pending == 1 ? null : 1) != null);
+        } catch (RuntimeException e) {
+            // Let the next change of this load refresh it again
+            pendingRefreshes.remove(loadId);
+            throw e;
+        }
+    }
+
+    /**
+     * Replace a load's entry to match its current state (null row = deleted).
+     * Must be called inside a compute on byLoad for the load.
+     *
+     * @return the new index position, or null if the load is not open
+     */
+    private Indexed reindex(OpenLoadRow row, Indexed current) {
+        if (current != null) {
+            remove(lanes, current.lane(), current.entry());
+            remove(truckTypes, current.entry().truckTypeKey(), current.entry());
+        }
+        if (row == null || !OPEN_STATUSES.contains(row.status())) {
+            return null;
+        }
+
+        Indexed indexed = new Indexed(
+                new Lane(row.loadingCityKey(), row.unloadingCityKey()),
+                new Entry(row.loadId(), row.truckTypeKey(), row.loadingDate(), row.remainingTrucks()));
+        add(lanes, indexed.lane(), indexed.entry());
+        add(truckTypes, indexed.entry().truckTypeKey(), indexed.entry());
+        return indexed;
+    }
+
+    private static <K> void add(Map<K, NavigableSet<Entry>> index, K key, Entry entry) {
+        // compute (not computeIfAbsent + add) so the add cannot race the removal of an emptied set
+        index.compute(key, (k, entries) -> {
+            NavigableSet<Entry> set = entries != null ? entries : new ConcurrentSkipListSet<>(BY_LOADING_DATE);
+            set.add(entry);
+            return set;
+        });
+    }
+
+    private static <K> void remove(Map<K, NavigableSet<Entry>> index, K key, Entry entry) {
+        index.computeIfPresent(key, (k, entries) -> {
+            entries.remove(entry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+}
@@ -9,8 +9,12 @@ import org.springframework.web.bind.annotation.*;
 
 import com.kshitizgaur.tms.dto.request.BidRequestDTO;
 import com.kshitizgaur.tms.dto.response.BidResponseDTO;
+import com.kshitizgaur.tms.dto.response.BulkResultDTO;
+import com.kshitizgaur.tms.dto.response.CursorPageDTO;
 import com.kshitizgaur.tms.entity.enums.BidStatus;
+import com.kshitizgaur.tms.service.AuctionEngine;
 import com.kshitizgaur.tms.service.BidService;
+import com.kshitizgaur.tms.service.BulkBidService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -22,7 +26,7 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * REST Controller for Bid operations.
- * Provides 4 endpoints for bid management.
+ * Provides 5 endpoints for bid management.
  */
 @RestController
 @RequestMapping("/bid")
@@ -31,6 +35,8 @@ import lombok.RequiredArgsConstructor;
 public class BidController {
 
     private final BidService bidService;
+    private final BulkBidService bulkBidService;
+    private final AuctionEngine auctionEngine;
 
     /**
      * 1. POST /bid - Submit a bid (validates capacity & load status)
@@ -45,26 +51,31 @@ public class BidController {
     })
     public ResponseEntity<BidResponseDTO> submitBid(
             @Valid @RequestBody BidRequestDTO request) {
-        BidResponseDTO response = bidService.submitBid(request);
+        BidResponseDTO response = auctionEngine.submitBid(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     /**
-     * 2. GET /bid - Filter bids
+     * 2. GET /bid - Filter bids with keyset (cursor) pagination
      */
     @GetMapping
-    @Operation(summary = "Filter bids", description = "Get bids with optional filters")
+    @Operation(summary = "Filter bids", description = "Get bids newest first with optional filters, one bounded page at a time; pass nextCursor to get the next page")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Bids retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Bids retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
     })
-    public ResponseEntity<List<BidResponseDTO>> getBids(
+    public ResponseEntity<CursorPageDTO<BidResponseDTO>> getBids(
             @Parameter(description = "Filter by load ID") @RequestParam(required = false) UUID loadId,
 
             @Parameter(description = "Filter by transporter ID") @RequestParam(required = false) UUID transporterId,
 
-            @Parameter(description = "Filter by status") @RequestParam(required = false) BidStatus status) {
+            @Parameter(description = "Filter by status") @RequestParam(required = false) BidStatus status,
 
-        List<BidResponseDTO> response = bidService.getBids(loadId, transporterId, status);
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+
+        CursorPageDTO<BidResponseDTO> response = bidService.getBids(loadId, transporterId, status, cursor, size);
         return ResponseEntity.ok(response);
     }
 
@@ -95,7 +106,21 @@ public class BidController {
     })
     public ResponseEntity<BidResponseDTO> rejectBid(
             @Parameter(description = "Bid ID") @PathVariable UUID bidId) {
-        BidResponseDTO response = bidService.rejectBid(bidId);
+        BidResponseDTO response = auctionEngine.rejectBid(bidId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 5. POST /bid/bulk - Submit many bids in one request
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Submit bids in bulk", description = "Validates the whole batch with set-based queries and inserts the accepted bids in one batched transaction; returns a result per item with the reason for each rejected bid")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-item results returned"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized request")
+    })
+    public ResponseEntity<BulkResultDTO> submitBids(@RequestBody List<BidRequestDTO> requests) {
+        BulkResultDTO response = bulkBidService.submitBids(requests);
         return ResponseEntity.ok(response);
     }
 }
@@ -6,8 +6,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.kshitizgaur.tms.dto.request.BatchBookingRequestDTO;
 import com.kshitizgaur.tms.dto.request.BookingRequestDTO;
+import com.kshitizgaur.tms.dto.response.BatchBookingResponseDTO;
 import com.kshitizgaur.tms.dto.response.BookingResponseDTO;
+import com.kshitizgaur.tms.dto.response.CursorPageDTO;
+import com.kshitizgaur.tms.entity.enums.BookingStatus;
+import com.kshitizgaur.tms.service.AuctionEngine;
 import com.kshitizgaur.tms.service.BookingService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,7 +25,7 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * REST Controller for Booking operations.
- * Provides 3 endpoints for booking management.
+ * Provides 5 endpoints for booking management.
  */
 @RestController
 @RequestMapping("/booking")
@@ -29,6 +34,7 @@ import lombok.RequiredArgsConstructor;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final AuctionEngine auctionEngine;
 
     /**
      * 1. POST /booking - Accept bid & create booking (handles concurrency)
@@ -43,7 +49,7 @@ public class BookingController {
     })
     public ResponseEntity<BookingResponseDTO> createBooking(
             @Valid @RequestBody BookingRequestDTO request) {
-        BookingResponseDTO response = bookingService.createBooking(request);
+        BookingResponseDTO response = auctionEngine.createBooking(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -74,7 +80,49 @@ public class BookingController {
     })
     public ResponseEntity<BookingResponseDTO> cancelBooking(
             @Parameter(description = "Booking ID") @PathVariable UUID bookingId) {
-        BookingResponseDTO response = bookingService.cancelBooking(bookingId);
+        BookingResponseDTO response = auctionEngine.cancelBooking(bookingId);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 4. GET /booking - Filter bookings with keyset (cursor) pagination
+     */
+    @GetMapping
+    @Operation(summary = "Filter bookings", description = "Get bookings newest first with optional filters, one bounded page at a time; pass nextCursor to get the next page")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bookings retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<CursorPageDTO<BookingResponseDTO>> getBookings(
+            @Parameter(description = "Filter by load ID") @RequestParam(required = false) UUID loadId,
+
+            @Parameter(description = "Filter by transporter ID") @RequestParam(required = false) UUID transporterId,
+
+            @Parameter(description = "Filter by status") @RequestParam(required = false) BookingStatus status,
+
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+
+        CursorPageDTO<BookingResponseDTO> response = bookingService.getBookings(loadId, transporterId, status,
+                cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 5. POST /booking/batch - Accept several bids of one load (all or nothing)
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Create bookings in batch", description = "Accept several bids of one load in one transaction; either every booking is created or none")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Bookings created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request, too many trucks or insufficient capacity"),
+            @ApiResponse(responseCode = "404", description = "Bid not found"),
+            @ApiResponse(responseCode = "409", description = "Concurrent booking conflict")
+    })
+    public ResponseEntity<BatchBookingResponseDTO> createBookings(
+            @Valid @RequestBody BatchBookingRequestDTO request) {
+        BatchBookingResponseDTO response = auctionEngine.createBookings(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
 }
@@ -1,5 +1,6 @@
 package com.kshitizgaur.tms.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -7,15 +8,31 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.kshitizgaur.tms.dto.request.LoadRequestDTO;
+import com.kshitizgaur.tms.dto.response.AutoAwardResponseDTO;
 import com.kshitizgaur.tms.dto.response.BestBidDTO;
+import com.kshitizgaur.tms.dto.response.BidRankDTO;
+import com.kshitizgaur.tms.dto.response.BidRejectionDTO;
+import com.kshitizgaur.tms.dto.response.BulkResultDTO;
+import com.kshitizgaur.tms.dto.response.CounterRebuildDTO;
+import com.kshitizgaur.tms.dto.response.CursorPageDTO;
 import com.kshitizgaur.tms.dto.response.LoadResponseDTO;
 import com.kshitizgaur.tms.dto.response.LoadWithBidsDTO;
+import com.kshitizgaur.tms.entity.enums.AwardObjective;
 import com.kshitizgaur.tms.entity.enums.LoadStatus;
+import com.kshitizgaur.tms.service.AuctionEngine;
+import com.kshitizgaur.tms.service.BestBidStreamService;
+import com.kshitizgaur.tms.service.BulkLoadService;
+import com.kshitizgaur.tms.service.LoadExportService;
+import com.kshitizgaur.tms.service.LoadSearchService;
 import com.kshitizgaur.tms.service.LoadService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -28,7 +45,7 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * REST Controller for Load operations.
- * Provides 5 endpoints for load management.
+ * Provides 14 endpoints for load management.
  */
 @RestController
 @RequestMapping("/load")
@@ -37,6 +54,11 @@ import lombok.RequiredArgsConstructor;
 public class LoadController {
 
     private final LoadService loadService;
+    private final BestBidStreamService bestBidStreamService;
+    private final LoadExportService loadExportService;
+    private final LoadSearchService loadSearchService;
+    private final BulkLoadService bulkLoadService;
+    private final AuctionEngine auctionEngine;
 
     /**
      * 1. POST /load - Create a new load
@@ -102,7 +124,7 @@ public class LoadController {
     })
     public ResponseEntity<LoadResponseDTO> cancelLoad(
             @Parameter(description = "Load ID") @PathVariable UUID loadId) {
-        LoadResponseDTO response = loadService.cancelLoad(loadId);
+        LoadResponseDTO response = auctionEngine.cancelLoad(loadId);
         return ResponseEntity.ok(response);
     }
 
@@ -110,14 +132,183 @@ public class LoadController {
      * 5. GET /load/{loadId}/best-bids - Get sorted bid suggestions
      */
     @GetMapping("/{loadId}/best-bids")
-    @Operation(summary = "Get best bids", description = "Get sorted bid suggestions by score")
+    @Operation(summary = "Get best bids", description = "Get sorted bid suggestions by score, optionally with custom weights")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Best bids retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit or weights"),
             @ApiResponse(responseCode = "404", description = "Load not found")
     })
     public ResponseEntity<List<BestBidDTO>> getBestBids(
+            @Parameter(description = "Load ID") @PathVariable UUID loadId,
+
+            @Parameter(description = "Return only the top N bids") @RequestParam(required = false) Integer limit,
+
+            @Parameter(description = "Weight of the rate component (default tms.scoring.rate-weight)") @RequestParam(required = false) Double rateWeight,
+
+            @Parameter(description = "Weight of the rating component (default tms.scoring.rating-weight)") @RequestParam(required = false) Double ratingWeight) {
+        List<BestBidDTO> response = loadService.getBestBids(loadId, limit, rateWeight, ratingWeight);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 6. GET /load/scroll - List loads with keyset (cursor) pagination
+     */
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll loads", description = "Get loads newest first using an opaque cursor instead of page numbers (no total count)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Loads retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<CursorPageDTO<LoadResponseDTO>> scrollLoads(
+            @Parameter(description = "Filter by shipper ID") @RequestParam(required = false) String shipperId,
+
+            @Parameter(description = "Filter by status") @RequestParam(required = false) LoadStatus status,
+
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+
+        CursorPageDTO<LoadResponseDTO> response = loadService.scrollLoads(shipperId, status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 7. POST /load/counters/rebuild - Rebuild allocation and pending-bid counters
+     */
+    @PostMapping("/counters/rebuild")
+    @Operation(summary = "Rebuild load counters", description = "Consistency check that recomputes allocated trucks and pending bid counts from bookings and bids")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Counters checked and rebuilt")
+    })
+    public ResponseEntity<CounterRebuildDTO> rebuildCounters() {
+        int corrected = loadService.rebuildCounters();
+        return ResponseEntity.ok(CounterRebuildDTO.builder().correctedLoads(corrected).build());
+    }
+
+    /**
+     * 8. GET /load/{loadId}/best-bids/{bidId}/rank - Get the rank of a pending bid
+     */
+    @GetMapping("/{loadId}/best-bids/{bidId}/rank")
+    @Operation(summary = "Get bid rank", description = "Get the position of a pending bid in the load's best-bid ranking")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bid rank retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Load not found or bid is not pending on it")
+    })
+    public ResponseEntity<BidRankDTO> getBidRank(
+            @Parameter(description = "Load ID") @PathVariable UUID loadId,
+            @Parameter(description = "Bid ID") @PathVariable UUID bidId) {
+        BidRankDTO response = loadService.getBidRank(loadId, bidId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 9. GET /load/{loadId}/best-bids/stream - Stream best-bid updates (SSE)
+     */
+    @GetMapping(value = "/{loadId}/best-bids/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream best bids", description = "Server-Sent Events stream that pushes the ranked bid list after every committed change to the load's bids or bookings")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream opened; first event is the current ranking"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "404", description = "Load not found")
+    })
+    public SseEmitter streamBestBids(
+            @Parameter(description = "Load ID") @PathVariable UUID loadId,
+
+            @Parameter(description = "Push only the top N bids") @RequestParam(required = false) Integer limit) {
+        return bestBidStreamService.subscribe(loadId, limit);
+    }
+
+    /**
+     * 10. GET /load/export - Export loads as NDJSON
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Export loads", description = "Stream all loads matching the filters as newline-delimited JSON, one load per line")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    })
+    public ResponseEntity<StreamingResponseBody> exportLoads(
+            @Parameter(description = "Filter by shipper ID") @RequestParam(required = false) String shipperId,
+
+            @Parameter(description = "Filter by status") @RequestParam(required = false) LoadStatus status) {
+
+        StreamingResponseBody body = out -> loadExportService.exportLoads(shipperId, status, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    /**
+     * 11. GET /load/search - Search open loads on a lane
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search loads by lane", description = "Find loads open for bidding by loading/unloading city, truck type and loading-date window (case-insensitive, earliest loading date first)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching loads retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid search parameters")
+    })
+    public ResponseEntity<List<LoadResponseDTO>> searchLoads(
+            @Parameter(description = "Loading city") @RequestParam String loadingCity,
+
+            @Parameter(description = "Unloading city") @RequestParam String unloadingCity,
+
+            @Parameter(description = "Filter by truck type") @RequestParam(required = false) String truckType,
+
+            @Parameter(description = "Earliest loading date (ISO date-time)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime loadingFrom,
+
+            @Parameter(description = "Latest loading date (ISO date-time)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime loadingTo,
+
+            @Parameter(description = "Maximum results (max 200)") @RequestParam(defaultValue = "50") int limit) {
+
+        List<LoadResponseDTO> response = loadSearchService.searchLoads(
+                loadingCity, unloadingCity, truckType, loadingFrom, loadingTo, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 12. POST /load/bulk - Create many loads in one request
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Create loads in bulk", description = "Validates each load individually and inserts the valid ones in batched transactions; returns a result per item")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-item results returned"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized request")
+    })
+    public ResponseEntity<BulkResultDTO> createLoads(@RequestBody List<LoadRequestDTO> requests) {
+        BulkResultDTO response = bulkLoadService.createLoads(requests);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 13. POST /load/{loadId}/auto-award - Book the best set of pending bids
+     */
+    @PostMapping("/{loadId}/auto-award")
+    @Operation(summary = "Auto-award a load", description = "Books the pending bids (allowing partial allocation) that exactly fill the remaining trucks at the lowest total cost or highest total score, in one transaction")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Load fully awarded"),
+            @ApiResponse(responseCode = "400", description = "Load not open for bids, or pending bids cannot fill it"),
+            @ApiResponse(responseCode = "404", description = "Load not found"),
+            @ApiResponse(responseCode = "409", description = "Concurrent booking conflict")
+    })
+    public ResponseEntity<AutoAwardResponseDTO> autoAward(
+            @Parameter(description = "Load ID") @PathVariable UUID loadId,
+            @Parameter(description = "What to optimize") @RequestParam(defaultValue = "MIN_COST") AwardObjective objective) {
+        AutoAwardResponseDTO response = auctionEngine.autoAward(loadId, objective);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * 14. PATCH /load/{loadId}/bids/reject - Reject all pending bids
+     */
+    @PatchMapping("/{loadId}/bids/reject")
+    @Operation(summary = "Reject all pending bids", description = "Rejects every pending bid of a load in one statement; the load stays open for new bids")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Pending bids rejected"),
+            @ApiResponse(responseCode = "400", description = "Load is not open for bids"),
+            @ApiResponse(responseCode = "404", description = "Load not found")
+    })
+    public ResponseEntity<BidRejectionDTO> rejectAllPendingBids(
             @Parameter(description = "Load ID") @PathVariable UUID loadId) {
-        List<BestBidDTO> response = loadService.getBestBids(loadId);
+        BidRejectionDTO response = auctionEngine.rejectAllPendingBids(loadId);
         return ResponseEntity.ok(response);
     }
 }
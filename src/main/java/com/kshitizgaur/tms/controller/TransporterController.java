@@ -8,7 +8,10 @@ import org.springframework.web.bind.annotation.*;
 
 import com.kshitizgaur.tms.dto.request.TransporterRequestDTO;
 import com.kshitizgaur.tms.dto.request.TruckUpdateDTO;
+import com.kshitizgaur.tms.dto.response.CursorPageDTO;
+import com.kshitizgaur.tms.dto.response.LoadResponseDTO;
 import com.kshitizgaur.tms.dto.response.TransporterResponseDTO;
+import com.kshitizgaur.tms.service.LoadSearchService;
 import com.kshitizgaur.tms.service.TransporterService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,7 +24,7 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * REST Controller for Transporter operations.
- * Provides 3 endpoints for transporter management.
+ * Provides 4 endpoints for transporter management.
  */
 @RestController
 @RequestMapping("/transporter")
@@ -30,6 +33,7 @@ import lombok.RequiredArgsConstructor;
 public class TransporterController {
 
     private final TransporterService transporterService;
+    private final LoadSearchService loadSearchService;
 
     /**
      * 1. POST /transporter - Register transporter with truck capacity
@@ -77,4 +81,25 @@ public class TransporterController {
         TransporterResponseDTO response = transporterService.updateTrucks(transporterId, request);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 4. GET /transporter/{transporterId}/matching-loads - Open loads this fleet can take
+     */
+    @GetMapping("/{transporterId}/matching-loads")
+    @Operation(summary = "Get matching loads", description = "Get open loads of the transporter's truck types that its fleet can cover and it has not bid on yet, earliest loading date first, using an opaque cursor")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching loads retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Transporter not found")
+    })
+    public ResponseEntity<CursorPageDTO<LoadResponseDTO>> getMatchingLoads(
+            @Parameter(description = "Transporter ID") @PathVariable UUID transporterId,
+
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size (max 200)") @RequestParam(defaultValue = "20") int size) {
+
+        CursorPageDTO<LoadResponseDTO> response = loadSearchService.findMatchingLoads(transporterId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,29 @@
+package com.kshitizgaur.tms.dto.request;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+/**
+ * DTO for booking several bids of one load at once.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchBookingRequestDTO {
+
+    @NotNull(message = "Load ID is required")
+    private UUID loadId;
+
+    /**
+     * Bids to accept, each with an optional truck count override.
+     */
+    @NotEmpty(message = "At least one booking is required")
+    @Size(max = 1000, message = "At most 1000 bookings can be created per request")
+    private List<@Valid @NotNull BookingRequestDTO> bookings;
+}
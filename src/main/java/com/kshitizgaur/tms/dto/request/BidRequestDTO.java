@@ -28,4 +28,12 @@ public class BidRequestDTO {
     @NotNull(message = "Trucks offered is required")
     @Min(value = 1, message = "At least 1 truck must be offered")
     private Integer trucksOffered;
+
+    /**
+     * Validity window in minutes; the bid expires if not accepted by then.
+     * Defaults to tms.bids.validity when omitted; without it the bid does not expire.
+     */
+    @Min(value = 1, message = "Validity must be at least 1 minute")
+    @Max(value = 43200, message = "Validity cannot exceed 30 days")
+    private Integer validityMinutes;
 }
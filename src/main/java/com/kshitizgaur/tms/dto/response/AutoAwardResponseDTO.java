@@ -0,0 +1,35 @@
+package com.kshitizgaur.tms.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.kshitizgaur.tms.entity.enums.AwardObjective;
+
+import lombok.*;
+
+/**
+ * DTO for the result of automatically awarding a load to its pending bids.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AutoAwardResponseDTO {
+
+    private UUID loadId;
+    private AwardObjective objective;
+    private int trucksAwarded;
+
+    /**
+     * Sum of proposed rate × allocated trucks over the bookings.
+     */
+    private double totalCost;
+
+    /**
+     * Sum of bid score × allocated trucks over the bookings.
+     */
+    private double totalScore;
+
+    private List<BookingResponseDTO> bookings;
+}
@@ -0,0 +1,29 @@
+package com.kshitizgaur.tms.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.kshitizgaur.tms.entity.enums.LoadStatus;
+
+import lombok.*;
+
+/**
+ * DTO for the result of booking several bids of one load at once.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchBookingResponseDTO {
+
+    private UUID loadId;
+    private int trucksAllocated;
+
+    /**
+     * Load status after the batch, BOOKED if it filled the load.
+     */
+    private LoadStatus loadStatus;
+
+    private List<BookingResponseDTO> bookings;
+}
@@ -16,7 +16,7 @@ import lombok.*;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class BestBidDTO {
 
     private UUID bidId;
@@ -30,18 +30,17 @@ public class BestBidDTO {
     private LocalDateTime submittedAt;
 
     /**
-     * Calculated score for ranking.
-     * Formula: score = (1 / proposedRate) * 0.7 + (rating / 5) * 0.3
-     * Higher score = better bid
+     * Score for ranking, assigned by the load's ranking from the configured
+     * {@link com.kshitizgaur.tms.scoring.BidScorer}. Higher score = better bid.
      */
     private Double score;
 
     /**
-     * Convert Bid entity to BestBidDTO with calculated score.
+     * Convert Bid entity to BestBidDTO; the score is set when it is ranked.
+     * A bid without a transporter is rated 3.0.
      */
     public static BestBidDTO fromEntity(Bid bid) {
         double rating = bid.getTransporter() != null ? bid.getTransporter().getRating() : 3.0;
-        double score = (1.0 / bid.getProposedRate()) * 0.7 + (rating / 5.0) * 0.3;
 
         return BestBidDTO.builder()
                 .bidId(bid.getBidId())
@@ -53,7 +52,24 @@ public class BestBidDTO {
                 .trucksOffered(bid.getTrucksOffered())
                 .status(bid.getStatus())
                 .submittedAt(bid.getSubmittedAt())
-                .score(score)
+                .build();
+    }
+
+    /**
+     * Convert a bid submission result to BestBidDTO, for ranking a bid
+     * without reading it back. A bid without a rating is rated 3.0.
+     */
+    public static BestBidDTO fromResponse(BidResponseDTO bid) {
+        return BestBidDTO.builder()
+                .bidId(bid.getBidId())
+                .loadId(bid.getLoadId())
+                .transporterId(bid.getTransporterId())
+                .transporterName(bid.getTransporterName())
+                .transporterRating(bid.getTransporterRating() != null ? bid.getTransporterRating() : 3.0)
+                .proposedRate(bid.getProposedRate())
+                .trucksOffered(bid.getTrucksOffered())
+                .status(bid.getStatus())
+                .submittedAt(bid.getSubmittedAt())
                 .build();
     }
 }
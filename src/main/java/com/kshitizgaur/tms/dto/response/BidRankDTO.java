@@ -0,0 +1,28 @@
+package com.kshitizgaur.tms.dto.response;
+
+import java.util.UUID;
+
+import lombok.*;
+
+/**
+ * DTO for the position of a pending bid in its load's best-bid ranking.
+ * Used in GET /load/{loadId}/best-bids/{bidId}/rank endpoint.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BidRankDTO {
+
+    private UUID loadId;
+    private UUID bidId;
+
+    /**
+     * 1-based position, 1 = best bid.
+     */
+    private int rank;
+
+    private int totalBids;
+    private Double score;
+}
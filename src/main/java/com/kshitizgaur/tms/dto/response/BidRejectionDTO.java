@@ -0,0 +1,23 @@
+package com.kshitizgaur.tms.dto.response;
+
+import java.util.UUID;
+
+import lombok.*;
+
+/**
+ * DTO for the result of rejecting all pending bids of a load.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BidRejectionDTO {
+
+    private UUID loadId;
+
+    /**
+     * Number of bids that were PENDING and are now REJECTED.
+     */
+    private int rejectedBids;
+}
@@ -27,6 +27,7 @@ public class BidResponseDTO {
     private Integer trucksOffered;
     private BidStatus status;
     private LocalDateTime submittedAt;
+    private LocalDateTime expiresAt;
 
     /**
      * Convert Bid entity to BidResponseDTO.
@@ -42,6 +43,7 @@ public class BidResponseDTO {
                 .trucksOffered(bid.getTrucksOffered())
                 .status(bid.getStatus())
                 .submittedAt(bid.getSubmittedAt())
+                .expiresAt(bid.getExpiresAt())
                 .build();
     }
 }
@@ -0,0 +1,54 @@
+package com.kshitizgaur.tms.dto.response;
+
+import java.util.UUID;
+
+import lombok.*;
+
+/**
+ * DTO for the outcome of one item of a bulk request.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemResultDTO {
+
+    public enum Status {
+        /** Item was persisted */
+        CREATED,
+        /** Item failed validation and was not attempted */
+        INVALID,
+        /** Item was valid but its chunk could not be persisted */
+        FAILED
+    }
+
+    /**
+     * Position of the item in the request (0-based).
+     */
+    private int index;
+
+    private Status status;
+
+    /**
+     * ID of the created resource, when status is CREATED.
+     */
+    private UUID id;
+
+    /**
+     * Reason the item was not created.
+     */
+    private String error;
+
+    public static BulkItemResultDTO created(int index, UUID id) {
+        return BulkItemResultDTO.builder().index(index).status(Status.CREATED).id(id).build();
+    }
+
+    public static BulkItemResultDTO invalid(int index, String error) {
+        return BulkItemResultDTO.builder().index(index).status(Status.INVALID).error(error).build();
+    }
+
+    public static BulkItemResultDTO failed(int index, String error) {
+        return BulkItemResultDTO.builder().index(index).status(Status.FAILED).error(error).build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.kshitizgaur.tms.dto.response;
+
+import java.util.List;
+
+import lombok.*;
+
+/**
+ * DTO for the per-item results of a bulk request.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkResultDTO {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+
+    /**
+     * One result per request item, in request order.
+     */
+    private List<BulkItemResultDTO> results;
+
+    public static BulkResultDTO of(List<BulkItemResultDTO> results) {
+        int succeeded = (int) results.stream()
+                .filter(result -> result.getStatus() == BulkItemResultDTO.Status.CREATED)
+                .count();
+
+        return BulkResultDTO.builder()
+                .total(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.kshitizgaur.tms.dto.response;
+
+import lombok.*;
+
+/**
+ * DTO for the result of rebuilding the denormalized load counters.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CounterRebuildDTO {
+
+    /**
+     * Number of loads whose stored counters differed from the base tables.
+     */
+    private int correctedLoads;
+}
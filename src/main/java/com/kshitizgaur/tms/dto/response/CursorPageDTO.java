@@ -0,0 +1,48 @@
+package com.kshitizgaur.tms.dto.response;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Window;
+
+import lombok.*;
+
+/**
+ * DTO for a keyset-paginated page.
+ * Unlike {@code Page}, no total count is computed; clients keep requesting
+ * with {@code nextCursor} while {@code hasMore} is true.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasMore;
+
+    /**
+     * Convert a scroll window to a CursorPageDTO.
+     *
+     * @param mapper   maps each row to its response DTO
+     * @param cursorOf encodes the cursor of a row
+     */
+    public static <S, T> CursorPageDTO<T> fromWindow(Window<S> window, Function<S, T> mapper,
+            Function<S, String> cursorOf) {
+        List<S> rows = window.getContent();
+        String nextCursor = window.hasNext() && !rows.isEmpty()
+                ? cursorOf.apply(rows.get(rows.size() - 1))
+                : null;
+
+        return CursorPageDTO.<T>builder()
+                .content(rows.stream().map(mapper).collect(Collectors.toList()))
+                .size(rows.size())
+                .nextCursor(nextCursor)
+                .hasMore(window.hasNext())
+                .build();
+    }
+}
@@ -13,10 +13,14 @@ import lombok.*;
  * A Bid is a proposal from a transporter to fulfill a load.
  */
 @Entity
-@Table(name = "bids", indexes = {
-        @Index(name = "idx_bid_load_id", columnList = "load_id"),
-        @Index(name = "idx_bid_transporter_id", columnList = "transporter_id"),
-        @Index(name = "idx_bid_status", columnList = "status")
+@Table(name = "bids", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_bid_load_transporter", columnNames = { "load_id", "transporter_id" })
+}, indexes = {
+        @Index(name = "idx_bid_load_status_submitted", columnList = "load_id, status, submitted_at, bid_id"),
+        @Index(name = "idx_bid_transporter_status_submitted", columnList = "transporter_id, status, submitted_at, bid_id"),
+        @Index(name = "idx_bid_status_submitted", columnList = "status, submitted_at, bid_id"),
+        @Index(name = "idx_bid_submitted", columnList = "submitted_at, bid_id"),
+        @Index(name = "idx_bid_status_expires", columnList = "status, expires_at")
 })
 @Getter
 @Setter
@@ -53,6 +57,13 @@ public class Bid {
     @Builder.Default
     private LocalDateTime submittedAt = LocalDateTime.now();
 
+    /**
+     * End of the bid's validity window; a PENDING bid becomes EXPIRED after it.
+     * Null means the bid does not expire.
+     */
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
     /**
      * Associated booking if bid is accepted.
      */
@@ -63,23 +74,24 @@ public class Bid {
      * Check if the bid can be accepted.
      */
     public boolean canBeAccepted() {
-        return status == BidStatus.PENDING;
+        return currentStatus() == BidStatus.PENDING;
     }
 
     /**
      * Check if the bid can be rejected.
      */
     public boolean canBeRejected() {
-        return status == BidStatus.PENDING;
+        return currentStatus() == BidStatus.PENDING;
     }
 
     /**
-     * Calculate bid score for ranking.
-     * Formula: score = (1 / proposedRate) * 0.7 + (rating / 5) * 0.3
-     * Higher score = better bid
+     * Status as of now: a PENDING bid past its validity window is EXPIRED,
+     * even if the expiry job has not flipped it yet.
      */
-    public double calculateScore() {
-        double transporterRating = transporter != null ? transporter.getRating() : 3.0;
-        return (1.0 / proposedRate) * 0.7 + (transporterRating / 5.0) * 0.3;
+    public BidStatus currentStatus() {
+        if (status == BidStatus.PENDING && expiresAt != null && !expiresAt.isAfter(LocalDateTime.now())) {
+            return BidStatus.EXPIRED;
+        }
+        return status;
     }
 }
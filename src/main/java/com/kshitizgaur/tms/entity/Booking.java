@@ -14,8 +14,10 @@ import lombok.*;
  */
 @Entity
 @Table(name = "bookings", indexes = {
-        @Index(name = "idx_booking_load_id", columnList = "load_id"),
-        @Index(name = "idx_booking_transporter_id", columnList = "transporter_id")
+        @Index(name = "idx_booking_load_status_booked", columnList = "load_id, status, booked_at, booking_id"),
+        @Index(name = "idx_booking_transporter_status_booked", columnList = "transporter_id, status, booked_at, booking_id"),
+        @Index(name = "idx_booking_status_booked", columnList = "status, booked_at, booking_id"),
+        @Index(name = "idx_booking_booked", columnList = "booked_at, booking_id")
 })
 @Getter
 @Setter
@@ -7,6 +7,9 @@ import java.util.UUID;
 
 import com.kshitizgaur.tms.entity.enums.LoadStatus;
 import com.kshitizgaur.tms.entity.enums.WeightUnit;
+import com.kshitizgaur.tms.util.SearchKeys;
+
+import org.hibernate.annotations.DynamicUpdate;
 
 import jakarta.persistence.*;
 import lombok.*;
@@ -15,11 +18,19 @@ import lombok.*;
  * Entity representing a Load in the Transport Management System.
  * A Load is a shipment request posted by a shipper that transporters can bid
  * on.
+ *
+ * Uses dynamic updates so that saving a status change never overwrites the
+ * allocation and pending-bid counters, which are maintained with atomic
+ * increments in LoadRepository.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "loads", indexes = {
         @Index(name = "idx_load_shipper_status", columnList = "shipperId, status"),
-        @Index(name = "idx_load_status", columnList = "status")
+        @Index(name = "idx_load_status", columnList = "status"),
+        @Index(name = "idx_load_date_posted", columnList = "date_posted, load_id"),
+        @Index(name = "idx_load_status_date_posted", columnList = "status, date_posted, load_id"),
+        @Index(name = "idx_load_lane", columnList = "loading_city_key, unloading_city_key, truck_type_key, loading_date")
 })
 @Getter
 @Setter
@@ -58,6 +69,19 @@ public class Load {
     @Column(name = "truck_type", nullable = false)
     private String truckType;
 
+    /**
+     * Case-folded search keys for lane search, derived from the display values
+     * on every insert/update.
+     */
+    @Column(name = "loading_city_key", nullable = false)
+    private String loadingCityKey;
+
+    @Column(name = "unloading_city_key", nullable = false)
+    private String unloadingCityKey;
+
+    @Column(name = "truck_type_key", nullable = false)
+    private String truckTypeKey;
+
     @Column(name = "no_of_trucks", nullable = false)
     private Integer noOfTrucks;
 
@@ -66,6 +90,22 @@ public class Load {
     @Builder.Default
     private LoadStatus status = LoadStatus.POSTED;
 
+    /**
+     * Trucks allocated by CONFIRMED bookings.
+     * Denormalized from bookings so remaining trucks can be read without a SUM.
+     */
+    @Column(name = "allocated_trucks", nullable = false)
+    @Builder.Default
+    private Integer allocatedTrucks = 0;
+
+    /**
+     * Number of PENDING bids.
+     * Denormalized from bids so listings can be read without a COUNT.
+     */
+    @Column(name = "pending_bid_count", nullable = false)
+    @Builder.Default
+    private Integer pendingBidCount = 0;
+
     @Column(name = "date_posted", nullable = false, updatable = false)
     @Builder.Default
     private LocalDateTime datePosted = LocalDateTime.now();
@@ -91,6 +131,14 @@ public class Load {
     @Builder.Default
     private List<Booking> bookings = new ArrayList<>();
 
+    @PrePersist
+    @PreUpdate
+    void updateSearchKeys() {
+        loadingCityKey = SearchKeys.normalize(loadingCity);
+        unloadingCityKey = SearchKeys.normalize(unloadingCity);
+        truckTypeKey = SearchKeys.normalize(truckType);
+    }
+
     /**
      * Check if the load can accept new bids.
      */
@@ -98,6 +146,13 @@ public class Load {
         return status == LoadStatus.POSTED || status == LoadStatus.OPEN_FOR_BIDS;
     }
 
+    /**
+     * Trucks still needed to fully book this load.
+     */
+    public int getRemainingTrucks() {
+        return noOfTrucks - allocatedTrucks;
+    }
+
     /**
      * Check if the load can be cancelled.
      */
@@ -0,0 +1,73 @@
+package com.kshitizgaur.tms.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.kshitizgaur.tms.event.LoadChangeType;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A domain event recorded in the transaction that caused it (transactional
+ * outbox), waiting to be delivered to in-process listeners.
+ * The identity column gives the delivery order.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_pending", columnList = "dispatched_at, id"),
+        @Index(name = "idx_outbox_events_aggregate", columnList = "aggregate_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    /**
+     * Load the event belongs to; events of one load are delivered in order.
+     */
+    @Column(name = "aggregate_id", nullable = false, updatable = false)
+    private UUID aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, updatable = false, length = 32)
+    private LoadChangeType eventType;
+
+    /**
+     * Bid involved in the change, or null for load-level changes.
+     */
+    @Column(name = "bid_id", updatable = false)
+    private UUID bidId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    /**
+     * When every listener accepted the event; null while pending.
+     */
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    /**
+     * Failed delivery attempts so far.
+     */
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    /**
+     * When the event was given up on after tms.outbox.max-attempts failed
+     * deliveries; null while it is still being delivered. Parked events are
+     * kept for inspection and never purged.
+     */
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+}
@@ -0,0 +1,12 @@
+package com.kshitizgaur.tms.entity.enums;
+
+/**
+ * What an automatic award optimizes when filling a load from its pending bids.
+ */
+public enum AwardObjective {
+    /** Lowest total rate over the allocated trucks */
+    MIN_COST,
+
+    /** Highest total bid score over the allocated trucks */
+    MAX_SCORE
+}
@@ -11,5 +11,8 @@ public enum BidStatus {
     ACCEPTED,
 
     /** Bid has been rejected by shipper */
-    REJECTED
+    REJECTED,
+
+    /** Bid was not accepted within its validity window */
+    EXPIRED
 }
@@ -0,0 +1,36 @@
+package com.kshitizgaur.tms.event;
+
+/**
+ * Kind of mutation that changed a Load or its bids/bookings.
+ */
+public enum LoadChangeType {
+    /** A new load was posted */
+    LOAD_CREATED,
+
+    /** Load was cancelled by the shipper */
+    LOAD_CANCELLED,
+
+    /** Load became fully allocated and its remaining bids were rejected */
+    LOAD_BOOKED,
+
+    /** A new bid was submitted */
+    BID_SUBMITTED,
+
+    /** A bid was rejected */
+    BID_REJECTED,
+
+    /** All pending bids of a load were rejected by the shipper */
+    BIDS_REJECTED,
+
+    /** A pending bid reached the end of its validity window */
+    BID_EXPIRED,
+
+    /** A bid was accepted */
+    BID_ACCEPTED,
+
+    /** A booking was created from a bid */
+    BOOKING_CREATED,
+
+    /** A booking was cancelled */
+    BOOKING_CANCELLED
+}
@@ -0,0 +1,44 @@
+package com.kshitizgaur.tms.event;
+
+import java.util.UUID;
+
+import com.kshitizgaur.tms.dto.response.BestBidDTO;
+
+import lombok.*;
+
+/**
+ * Application event published whenever a load, its bids or its bookings are
+ * mutated. Listeners that keep derived state (caches, rankings) should react
+ * after commit so they never observe rolled-back changes.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class LoadChangedEvent {
+
+    private final UUID loadId;
+    private final LoadChangeType type;
+
+    /**
+     * Bid involved in the change, or null for load-level changes.
+     */
+    private final UUID bidId;
+
+    /**
+     * The submitted bid as it is ranked (unscored), for BID_SUBMITTED
+     * events, so rankings can add it without reading it back; null otherwise.
+     */
+    private final BestBidDTO bid;
+
+    public static LoadChangedEvent of(UUID loadId, LoadChangeType type) {
+        return new LoadChangedEvent(loadId, type, null, null);
+    }
+
+    public static LoadChangedEvent of(UUID loadId, LoadChangeType type, UUID bidId) {
+        return new LoadChangedEvent(loadId, type, bidId, null);
+    }
+
+    public static LoadChangedEvent bidSubmitted(BestBidDTO bid) {
+        return new LoadChangedEvent(bid.getLoadId(), LoadChangeType.BID_SUBMITTED, bid.getBidId(), bid);
+    }
+}
@@ -0,0 +1,23 @@
+package com.kshitizgaur.tms.outbox;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.kshitizgaur.tms.entity.OutboxEvent;
+import com.kshitizgaur.tms.event.LoadChangeType;
+
+/**
+ * A committed change to a load, its bids or its bookings, as delivered to
+ * {@link DomainEventListener}s.
+ *
+ * @param id          outbox ID, increasing per load; use it to drop redeliveries
+ * @param aggregateId load the event belongs to
+ * @param bidId       bid involved in the change, or null for load-level changes
+ */
+public record DomainEvent(long id, UUID aggregateId, LoadChangeType type, UUID bidId, LocalDateTime occurredAt) {
+
+    static DomainEvent of(OutboxEvent event) {
+        return new DomainEvent(event.getId(), event.getAggregateId(), event.getEventType(), event.getBidId(),
+                event.getCreatedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package com.kshitizgaur.tms.outbox;
+
+/**
+ * Receives committed domain events from the outbox. Register an
+ * implementation as a bean to be called by {@link OutboxDispatcher}.
+ *
+ * Delivery is at least once and in order per load, on the dispatcher
+ * thread, after the request that caused the event has returned. An event is
+ * redelivered to every listener if any listener throws, so implementations
+ * must be idempotent (for example by remembering the last {@link DomainEvent#id()}
+ * handled per load) and should hand slow work off to their own executor.
+ */
+public interface DomainEventListener {
+
+    void onEvent(DomainEvent event);
+}
@@ -0,0 +1,221 @@
+package com.kshitizgaur.tms.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kshitizgaur.tms.entity.OutboxEvent;
+import com.kshitizgaur.tms.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers outbox events to every {@link DomainEventListener} bean on a
+ * single background thread.
+ *
+ * Pending events are read in ID order, tms.outbox.batch-size at a time, and
+ * marked dispatched only after all listeners accepted them, so a crash or a
+ * failing listener leads to redelivery, never to a lost event. When an event
+ * fails, the later events of the same load are held back until it goes
+ * through, which keeps each load's events in order; other loads carry on,
+ * since a blocked load only takes one row of each batch. After
+ * tms.outbox.max-attempts failed deliveries an event is parked: it is no
+ * longer delivered and the load's later events go ahead without it.
+ * Writes to a load all update its row, so the transactions that record one
+ * load's events commit one after another and ID order is commit order.
+ *
+ * The thread wakes up after each commit that recorded an event and polls
+ * every tms.outbox.poll-interval to pick up retries and events left by a
+ * previous run. Delivered events are deleted after tms.outbox.retention.
+ * Assumes one dispatching instance per database.
+ *
+ * Published metrics: tms.outbox.dispatched, tms.outbox.failed (delivery
+ * attempts that a listener rejected) and tms.outbox.parked.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectProvider<DomainEventListener> listenerProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final Counter dispatchedCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private volatile List<DomainEventListener> listeners;
+    private LocalDateTime lastPurge = LocalDateTime.MIN;
+
+    public OutboxDispatcher(
+            OutboxEventRepository outboxEventRepository,
+            ObjectProvider<DomainEventListener> listenerProvider,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${tms.outbox.poll-interval:1s}") Duration pollInterval,
+            @Value("${tms.outbox.batch-size:100}") int batchSize,
+            @Value("${tms.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${tms.outbox.retention:24h}") Duration retention) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("tms.outbox.batch-size must be at least 1");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("tms.outbox.max-attempts must be at least 1");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.listenerProvider = listenerProvider;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+        this.dispatchedCounter = meterRegistry.counter("tms.outbox.dispatched");
+        this.failedCounter = meterRegistry.counter("tms.outbox.failed");
+        this.parkedCounter = meterRegistry.counter("tms.outbox.parked");
+        this.executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("outbox-"));
+
+        long period = pollInterval.toMillis();
+        executor.scheduleWithFixedDelay(this::drain, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start delivering once every listener bean exists.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        listeners = listenerProvider.orderedStream().collect(Collectors.toList());
+        log.info("Outbox dispatcher started with {} listeners", listeners.size());
+        wakeUp();
+    }
+
+    /**
+     * Schedule a delivery run unless one is already queued. Never blocks.
+     */
+    public void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                drain();
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Deliver pending events until a batch comes back short or blocked.
+     */
+    private void drain() {
+        List<DomainEventListener> current = listeners;
+        if (current == null) {
+            return;
+        }
+        try {
+            while (dispatchBatch(current) == batchSize) {
+                // A full batch went through; there may be more
+            }
+            purge();
+        } catch (RuntimeException e) {
+            log.warn("Outbox dispatch failed, retrying at the next poll", e);
+        }
+    }
+
+    /**
+     * Deliver one batch of pending events.
+     *
+     * @return number of events delivered
+     */
+    int dispatchBatch(List<DomainEventListener> listeners) {
+        List<OutboxEvent> batch = outboxEventRepository.findPending(Limit.of(batchSize));
+        List<Long> dispatched = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        List<Long> parked = new ArrayList<>();
+        Set<UUID> blocked = new HashSet<>();
+
+        for (OutboxEvent row : batch) {
+            if (blocked.contains(row.getAggregateId())) {
+                continue;
+            }
+            DomainEvent event = DomainEvent.of(row);
+            try {
+                for (DomainEventListener listener : listeners) {
+                    listener.onEvent(event);
+                }
+                dispatched.add(row.getId());
+            } catch (RuntimeException e) {
+                blocked.add(row.getAggregateId());
+                int attempt = row.getAttempts() + 1;
+                if (attempt >= maxAttempts) {
+                    parked.add(row.getId());
+                    log.error("Outbox event {} ({} of load {}) failed {} times and is parked", row.getId(),
+                            row.getEventType(), row.getAggregateId(), attempt, e);
+                } else {
+                    failed.add(row.getId());
+                    log.warn("Outbox event {} ({} of load {}) failed on attempt {}: {}", row.getId(),
+                            row.getEventType(), row.getAggregateId(), attempt, e.getMessage());
+                }
+            }
+        }
+
+        if (!dispatched.isEmpty() || !failed.isEmpty() || !parked.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!dispatched.isEmpty()) {
+                    outboxEventRepository.markDispatched(dispatched, LocalDateTime.now());
+                }
+                if (!failed.isEmpty()) {
+                    outboxEventRepository.incrementAttempts(failed);
+                }
+                if (!parked.isEmpty()) {
+                    outboxEventRepository.park(parked, LocalDateTime.now());
+                }
+            });
+        }
+        dispatchedCounter.increment(dispatched.size());
+        failedCounter.increment(failed.size() + parked.size());
+        parkedCounter.increment(parked.size());
+        return dispatched.size();
+    }
+
+    /**
+     * Delete delivered events past retention, at most once a minute.
+     */
+    private void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastPurge.isAfter(now.minusMinutes(1))) {
+            return;
+        }
+        lastPurge = now;
+        Integer purged = transactionTemplate.execute(
+                status -> outboxEventRepository.deleteDispatchedBefore(now.minus(retention)));
+        if (purged != null && purged > 0) {
+            log.debug("Purged {} delivered outbox events", purged);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.kshitizgaur.tms.outbox;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.kshitizgaur.tms.entity.OutboxEvent;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
+import com.kshitizgaur.tms.repository.OutboxEventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records every {@link LoadChangedEvent} in the outbox table inside the
+ * transaction that published it, so the event is stored if and only if the
+ * change commits. That covers bookings and their cancellation, bid
+ * submission and rejection, and load cancellation. The request only pays for
+ * one INSERT; delivery happens on the dispatcher thread.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDispatcher outboxDispatcher;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void record(LoadChangedEvent event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateId(event.getLoadId())
+                .eventType(event.getType())
+                .bidId(event.getBidId())
+                .build());
+    }
+
+    /**
+     * Deliver new events right away instead of at the next poll.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void afterCommit(LoadChangedEvent event) {
+        outboxDispatcher.wakeUp();
+    }
+}
@@ -1,10 +1,13 @@
 package com.kshitizgaur.tms.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,13 +20,20 @@ import jakarta.persistence.LockModeType;
  * Repository for AvailableTruck entity.
  */
 @Repository
-public interface AvailableTruckRepository extends JpaRepository<AvailableTruck, UUID> {
+public interface AvailableTruckRepository
+        extends JpaRepository<AvailableTruck, UUID>, AvailableTruckRepositoryCustom {
 
     /**
      * Find available truck by transporter ID and truck type.
      */
     Optional<AvailableTruck> findByTransporterTransporterIdAndTruckType(UUID transporterId, String truckType);
 
+    /**
+     * Find the trucks of one type for several transporters.
+     */
+    List<AvailableTruck> findByTransporterTransporterIdInAndTruckType(Collection<UUID> transporterIds,
+            String truckType);
+
     /**
      * Find and lock available truck for update (pessimistic locking for critical
      * sections).
@@ -34,6 +44,33 @@ public interface AvailableTruckRepository extends JpaRepository<AvailableTruck,
     Optional<AvailableTruck> findAndLock(@Param("transporterId") UUID transporterId,
             @Param("truckType") String truckType);
 
+    /**
+     * Deduct trucks from a transporter's capacity in one statement, only if
+     * enough are available. Concurrent deductions are serialized by the row
+     * lock, so each one sees the count left by the others. The version is
+     * bumped so entity-based writers still detect the change.
+     *
+     * @return 1 if the trucks were deducted, 0 if capacity was insufficient or
+     *         the transporter has no trucks of this type
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AvailableTruck at SET at.count = at.count - :trucks, at.version = at.version + 1 "
+            + "WHERE at.transporter.transporterId = :transporterId AND at.truckType = :truckType "
+            + "AND at.count >= :trucks")
+    int deductTrucks(@Param("transporterId") UUID transporterId, @Param("truckType") String truckType,
+            @Param("trucks") int trucks);
+
+    /**
+     * Return trucks to a transporter's capacity in one statement.
+     *
+     * @return 1 if restored, 0 if the transporter has no trucks of this type
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AvailableTruck at SET at.count = at.count + :trucks, at.version = at.version + 1 "
+            + "WHERE at.transporter.transporterId = :transporterId AND at.truckType = :truckType")
+    int restoreTrucks(@Param("transporterId") UUID transporterId, @Param("truckType") String truckType,
+            @Param("trucks") int trucks);
+
     /**
      * Delete all trucks for a transporter.
      */
@@ -0,0 +1,22 @@
+package com.kshitizgaur.tms.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Capacity updates for several transporters at once, sent as one JDBC batch.
+ */
+public interface AvailableTruckRepositoryCustom {
+
+    /**
+     * Deduct trucks of one type from several transporters with one batch of
+     * the conditional UPDATE behind {@link AvailableTruckRepository#deductTrucks}.
+     * Statements that do not match a row leave the other deductions in place,
+     * so callers must roll back if the result is not empty.
+     *
+     * @param trucksByTransporter trucks to deduct per transporter ID
+     * @return transporters whose deduction matched no row, in map order
+     */
+    List<UUID> deductTrucksInBatch(String truckType, Map<UUID, Integer> trucksByTransporter);
+}
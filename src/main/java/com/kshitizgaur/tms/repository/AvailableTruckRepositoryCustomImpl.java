@@ -0,0 +1,61 @@
+package com.kshitizgaur.tms.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC batch implementation of {@link AvailableTruckRepositoryCustom}. Runs
+ * on the connection of the surrounding JPA transaction. Relies on the driver
+ * reporting an update count per batched statement, as H2 and PostgreSQL do.
+ */
+@RequiredArgsConstructor
+class AvailableTruckRepositoryCustomImpl implements AvailableTruckRepositoryCustom {
+
+    private static final String DEDUCT_TRUCKS = "UPDATE available_trucks "
+            + "SET count = count - ?, version = version + 1 "
+            + "WHERE transporter_id = ? AND truck_type = ? AND count >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<UUID> deductTrucksInBatch(String truckType, Map<UUID, Integer> trucksByTransporter) {
+        List<Map.Entry<UUID, Integer>> deductions = new ArrayList<>(trucksByTransporter.entrySet());
+        // Same ordering guarantee as @Modifying(flushAutomatically = true)
+        entityManager.flush();
+
+        int[] updated = jdbcTemplate.batchUpdate(DEDUCT_TRUCKS, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<UUID, Integer> deduction = deductions.get(i);
+                ps.setInt(1, deduction.getValue());
+                ps.setObject(2, deduction.getKey());
+                ps.setString(3, truckType);
+                ps.setInt(4, deduction.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deductions.size();
+            }
+        });
+
+        List<UUID> failed = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                failed.add(deductions.get(i).getKey());
+            }
+        }
+        return failed;
+    }
+}
@@ -1,16 +1,35 @@
 package com.kshitizgaur.tms.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.kshitizgaur.tms.entity.Bid;
 import com.kshitizgaur.tms.entity.enums.BidStatus;
+import com.kshitizgaur.tms.repository.projection.BidExpiry;
+import com.kshitizgaur.tms.repository.projection.BidKey;
+import com.kshitizgaur.tms.repository.projection.BidSubmissionContext;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository for Bid entity.
@@ -19,29 +38,86 @@ import com.kshitizgaur.tms.entity.enums.BidStatus;
 public interface BidRepository extends JpaRepository<Bid, UUID> {
 
     /**
-     * Find bids by load ID.
+     * Scroll bids of a load by keyset, transporter fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = "transporter")
+    Window<Bid> findByLoadLoadId(UUID loadId, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Scroll bids of a transporter by keyset, transporter fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = "transporter")
+    Window<Bid> findByTransporterTransporterId(UUID transporterId, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Scroll bids of a load with a status by keyset, transporter fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = "transporter")
+    Window<Bid> findByLoadLoadIdAndStatus(UUID loadId, BidStatus status, ScrollPosition position, Limit limit,
+            Sort sort);
+
+    /**
+     * Scroll bids of a transporter with a status by keyset, transporter fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = "transporter")
+    Window<Bid> findByTransporterTransporterIdAndStatus(UUID transporterId, BidStatus status,
+            ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Scroll bids with a status by keyset, transporter fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = "transporter")
+    Window<Bid> findByStatus(BidStatus status, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Scroll all bids by keyset, transporter fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = "transporter")
+    Window<Bid> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Read the load state, remaining trucks, the transporter's capacity of the
+     * load's truck type and the duplicate-bid flag in a single statement.
+     * Empty when the load does not exist; the transporter fields are null when
+     * the transporter does not exist.
      */
-    List<Bid> findByLoadLoadId(UUID loadId);
+    @Query("SELECT new com.kshitizgaur.tms.repository.projection.BidSubmissionContext("
+            + "l.loadId, l.status, l.truckType, l.noOfTrucks - l.allocatedTrucks, "
+            + "t.transporterId, t.companyName, t.rating, "
+            + "(SELECT COALESCE(SUM(at.count), 0L) FROM AvailableTruck at "
+            + "WHERE at.transporter = t AND UPPER(at.truckType) = UPPER(l.truckType)), "
+            + "CASE WHEN EXISTS (SELECT 1 FROM Bid b WHERE b.load = l AND b.transporter = t) THEN true ELSE false END) "
+            + "FROM Load l LEFT JOIN Transporter t ON t.transporterId = :transporterId "
+            + "WHERE l.loadId = :loadId")
+    Optional<BidSubmissionContext> findSubmissionContext(@Param("loadId") UUID loadId,
+            @Param("transporterId") UUID transporterId);
 
     /**
-     * Find bids by transporter ID.
+     * (load, transporter) pairs that already have a bid, among the given loads
+     * and transporters.
      */
-    List<Bid> findByTransporterTransporterId(UUID transporterId);
+    @Query("SELECT new com.kshitizgaur.tms.repository.projection.BidKey(b.load.loadId, b.transporter.transporterId) "
+            + "FROM Bid b WHERE b.load.loadId IN :loadIds AND b.transporter.transporterId IN :transporterIds")
+    Set<BidKey> findBidKeys(@Param("loadIds") Collection<UUID> loadIds,
+            @Param("transporterIds") Collection<UUID> transporterIds);
 
     /**
-     * Find bids by load ID and status.
+     * IDs of every transporter that has bid on a load, in any status.
      */
-    List<Bid> findByLoadLoadIdAndStatus(UUID loadId, BidStatus status);
+    @Query("SELECT b.transporter.transporterId FROM Bid b WHERE b.load.loadId = :loadId")
+    Set<UUID> findTransporterIdsByLoadId(@Param("loadId") UUID loadId);
 
     /**
-     * Find bids by transporter ID and status.
+     * Load ID of a bid, without loading the bid.
      */
-    List<Bid> findByTransporterTransporterIdAndStatus(UUID transporterId, BidStatus status);
+    @Query("SELECT b.load.loadId FROM Bid b WHERE b.bidId = :bidId")
+    Optional<UUID> findLoadIdByBidId(@Param("bidId") UUID bidId);
 
     /**
-     * Check if a transporter has already bid on a load.
+     * IDs of every load a transporter has bid on, in any status.
      */
-    boolean existsByLoadLoadIdAndTransporterTransporterId(UUID loadId, UUID transporterId);
+    @Query("SELECT b.load.loadId FROM Bid b WHERE b.transporter.transporterId = :transporterId")
+    Set<UUID> findLoadIdsByTransporterId(@Param("transporterId") UUID transporterId);
 
     /**
      * Find bid by ID with transporter eagerly fetched.
@@ -49,6 +125,12 @@ public interface BidRepository extends JpaRepository<Bid, UUID> {
     @Query("SELECT b FROM Bid b LEFT JOIN FETCH b.transporter LEFT JOIN FETCH b.load WHERE b.bidId = :bidId")
     Optional<Bid> findByIdWithDetails(@Param("bidId") UUID bidId);
 
+    /**
+     * Find several bids with their transporter and load in one query.
+     */
+    @Query("SELECT b FROM Bid b JOIN FETCH b.transporter JOIN FETCH b.load WHERE b.bidId IN :bidIds")
+    List<Bid> findAllWithDetailsByIdIn(@Param("bidIds") Collection<UUID> bidIds);
+
     /**
      * Find pending bids for a load with transporter details.
      */
@@ -56,8 +138,42 @@ public interface BidRepository extends JpaRepository<Bid, UUID> {
     List<Bid> findPendingBidsByLoadId(@Param("loadId") UUID loadId);
 
     /**
-     * Count pending bids for a load.
+     * Stream the expiry time of every pending bid that has one (used to load
+     * the expiry wheel on startup). Must be consumed inside a transaction and
+     * closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = LoadRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.kshitizgaur.tms.repository.projection.BidExpiry(b.bidId, b.load.loadId, b.expiresAt) "
+            + "FROM Bid b WHERE b.status = 'PENDING' AND b.expiresAt IS NOT NULL")
+    Stream<BidExpiry> streamPendingExpiries();
+
+    /**
+     * Among the given bids, those still PENDING whose validity ended at or before {@code now}.
+     */
+    @Query("SELECT new com.kshitizgaur.tms.repository.projection.BidExpiry(b.bidId, b.load.loadId, b.expiresAt) "
+            + "FROM Bid b WHERE b.bidId IN :bidIds AND b.status = 'PENDING' AND b.expiresAt <= :now")
+    List<BidExpiry> findDueExpiries(@Param("bidIds") Collection<UUID> bidIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Mark the given bids EXPIRED in one statement, skipping any that were
+     * accepted or rejected in the meantime.
+     *
+     * @return number of bids expired
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Bid b SET b.status = 'EXPIRED' WHERE b.bidId IN :bidIds AND b.status = 'PENDING'")
+    int expireBids(@Param("bidIds") Collection<UUID> bidIds);
+
+    /**
+     * Mark every PENDING bid of a load REJECTED in one statement, without
+     * loading the bids.
+     *
+     * @return number of bids rejected
      */
-    @Query("SELECT COUNT(b) FROM Bid b WHERE b.load.loadId = :loadId AND b.status = 'PENDING'")
-    int countPendingBidsByLoadId(@Param("loadId") UUID loadId);
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Bid b SET b.status = 'REJECTED' WHERE b.load.loadId = :loadId AND b.status = 'PENDING'")
+    int rejectPendingBids(@Param("loadId") UUID loadId);
 }
@@ -1,9 +1,15 @@
 package com.kshitizgaur.tms.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,6 +24,45 @@ import com.kshitizgaur.tms.entity.enums.BookingStatus;
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
+    /**
+     * Scroll bookings of a load by keyset, load and transporter fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = { "load", "transporter" })
+    Window<Booking> findByLoadLoadId(UUID loadId, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Scroll bookings of a transporter by keyset, load and transporter fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = { "load", "transporter" })
+    Window<Booking> findByTransporterTransporterId(UUID transporterId, ScrollPosition position, Limit limit,
+            Sort sort);
+
+    /**
+     * Scroll bookings of a load with a status by keyset, load and transporter fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = { "load", "transporter" })
+    Window<Booking> findByLoadLoadIdAndStatus(UUID loadId, BookingStatus status, ScrollPosition position,
+            Limit limit, Sort sort);
+
+    /**
+     * Scroll bookings of a transporter with a status by keyset, load and transporter fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = { "load", "transporter" })
+    Window<Booking> findByTransporterTransporterIdAndStatus(UUID transporterId, BookingStatus status,
+            ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Scroll bookings with a status by keyset, load and transporter fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = { "load", "transporter" })
+    Window<Booking> findByStatus(BookingStatus status, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Scroll all bookings by keyset, load and transporter fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = { "load", "transporter" })
+    Window<Booking> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
     /**
      * Find bookings by load ID.
      */
@@ -38,24 +83,29 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
      */
     List<Booking> findByLoadLoadIdAndStatus(UUID loadId, BookingStatus status);
 
-    /**
-     * Sum of allocated trucks for a load (confirmed bookings only).
-     * Critical for Rule 3: Multi-Truck Allocation.
-     */
-    @Query("SELECT COALESCE(SUM(b.allocatedTrucks), 0) FROM Booking b WHERE b.load.loadId = :loadId AND b.status = 'CONFIRMED'")
-    int sumAllocatedTrucksByLoadId(@Param("loadId") UUID loadId);
-
     /**
      * Find booking by ID with all related entities.
      */
     @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.load LEFT JOIN FETCH b.bid LEFT JOIN FETCH b.transporter WHERE b.bookingId = :bookingId")
     Optional<Booking> findByIdWithDetails(@Param("bookingId") UUID bookingId);
 
+    /**
+     * Load ID of a booking, without loading the booking.
+     */
+    @Query("SELECT b.load.loadId FROM Booking b WHERE b.bookingId = :bookingId")
+    Optional<UUID> findLoadIdByBookingId(@Param("bookingId") UUID bookingId);
+
     /**
      * Check if a booking exists for a bid.
      */
     boolean existsByBidBidId(UUID bidId);
 
+    /**
+     * Find which of the given bids already have a booking.
+     */
+    @Query("SELECT b.bid.bidId FROM Booking b WHERE b.bid.bidId IN :bidIds")
+    List<UUID> findBookedBidIds(@Param("bidIds") Collection<UUID> bidIds);
+
     /**
      * Count confirmed bookings for a load.
      */
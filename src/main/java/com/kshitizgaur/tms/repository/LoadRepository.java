@@ -1,23 +1,49 @@
 package com.kshitizgaur.tms.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.kshitizgaur.tms.entity.Load;
 import com.kshitizgaur.tms.entity.enums.LoadStatus;
+import com.kshitizgaur.tms.repository.projection.OpenLoadRow;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository for Load entity.
  */
 @Repository
-public interface LoadRepository extends JpaRepository<Load, UUID> {
+public interface LoadRepository extends JpaRepository<Load, UUID>, JpaSpecificationExecutor<Load> {
+
+    /**
+     * Rows fetched per database round trip when streaming exports.
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
+    String OPEN_LOAD_ROW_SELECT = "SELECT new com.kshitizgaur.tms.repository.projection.OpenLoadRow("
+            + "l.loadId, l.status, l.loadingCityKey, l.unloadingCityKey, l.truckTypeKey, l.loadingDate, "
+            + "l.noOfTrucks - l.allocatedTrucks) FROM Load l ";
 
     /**
      * Find loads by shipper ID with pagination.
@@ -34,6 +60,95 @@ public interface LoadRepository extends JpaRepository<Load, UUID> {
      */
     Page<Load> findByShipperIdAndStatus(String shipperId, LoadStatus status, Pageable pageable);
 
+    /**
+     * Scroll all loads by keyset (no count query).
+     */
+    Window<Load> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Scroll loads by shipper ID by keyset (no count query).
+     */
+    Window<Load> findByShipperId(String shipperId, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Scroll loads by status by keyset (no count query).
+     */
+    Window<Load> findByStatus(LoadStatus status, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Scroll loads by shipper ID and status by keyset (no count query).
+     */
+    Window<Load> findByShipperIdAndStatus(String shipperId, LoadStatus status, ScrollPosition position,
+            Limit limit, Sort sort);
+
+    /**
+     * Stream all loads for export, read through a JDBC cursor in fetch-size batches.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Load> streamAllBy(Sort sort);
+
+    /**
+     * Stream loads by shipper ID for export.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Load> streamByShipperId(String shipperId, Sort sort);
+
+    /**
+     * Stream loads by status for export.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Load> streamByStatus(LoadStatus status, Sort sort);
+
+    /**
+     * Stream loads by shipper ID and status for export.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Load> streamByShipperIdAndStatus(String shipperId, LoadStatus status, Sort sort);
+
+    /**
+     * Index columns of one load.
+     */
+    @Query(OPEN_LOAD_ROW_SELECT + "WHERE l.loadId = :loadId")
+    Optional<OpenLoadRow> findOpenLoadRow(@Param("loadId") UUID loadId);
+
+    /**
+     * Index columns of the loads in the given statuses (used to warm the
+     * open-load lane index).
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(OPEN_LOAD_ROW_SELECT + "WHERE l.status IN :statuses ORDER BY l.loadId")
+    Stream<OpenLoadRow> streamOpenLoadRows(@Param("statuses") Collection<LoadStatus> statuses);
+
+    /**
+     * Search loads on a lane by normalized keys, earliest loading date first.
+     * Served by idx_load_lane; null truck type and dates are unbounded.
+     */
+    @Query("SELECT l FROM Load l WHERE l.loadingCityKey = :loadingCityKey AND l.unloadingCityKey = :unloadingCityKey "
+            + "AND (:truckTypeKey IS NULL OR l.truckTypeKey = :truckTypeKey) "
+            + "AND (:loadingFrom IS NULL OR l.loadingDate >= :loadingFrom) "
+            + "AND (:loadingTo IS NULL OR l.loadingDate <= :loadingTo) "
+            + "AND l.status IN :statuses ORDER BY l.loadingDate ASC, l.loadId ASC")
+    List<Load> searchLane(@Param("loadingCityKey") String loadingCityKey,
+            @Param("unloadingCityKey") String unloadingCityKey,
+            @Param("truckTypeKey") String truckTypeKey,
+            @Param("loadingFrom") LocalDateTime loadingFrom,
+            @Param("loadingTo") LocalDateTime loadingTo,
+            @Param("statuses") Collection<LoadStatus> statuses,
+            Pageable pageable);
+
     /**
      * Find load with its bids eagerly fetched.
      */
@@ -51,4 +166,69 @@ public interface LoadRepository extends JpaRepository<Load, UUID> {
      */
     @Query("SELECT COUNT(b) FROM Bid b WHERE b.load.loadId = :loadId AND b.status = 'PENDING'")
     int countActiveBidsByLoadId(@Param("loadId") UUID loadId);
+
+    /**
+     * Remaining trucks read straight from the counter column.
+     * Scalar query, so it reflects counter updates made earlier in the same
+     * transaction.
+     */
+    @Query("SELECT l.noOfTrucks - l.allocatedTrucks FROM Load l WHERE l.loadId = :loadId")
+    Optional<Integer> findRemainingTrucks(@Param("loadId") UUID loadId);
+
+    /**
+     * Remaining trucks read with {@code SELECT ... FOR UPDATE}: the load row
+     * stays locked until the calling transaction ends.
+     */
+    @Query(value = "SELECT no_of_trucks - allocated_trucks FROM loads WHERE load_id = :loadId FOR UPDATE",
+            nativeQuery = true)
+    Optional<Integer> lockRemainingTrucks(@Param("loadId") UUID loadId);
+
+    /**
+     * Count new bids against an open load and move it from POSTED to
+     * OPEN_FOR_BIDS if these are its first bids, in one conditional statement.
+     *
+     * @return 0 if the load is no longer open for bids
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Load l SET l.pendingBidCount = l.pendingBidCount + :count, "
+            + "l.status = CASE WHEN l.status = 'POSTED' THEN 'OPEN_FOR_BIDS' ELSE l.status END "
+            + "WHERE l.loadId = :loadId AND l.status IN ('POSTED', 'OPEN_FOR_BIDS')")
+    int registerBids(@Param("loadId") UUID loadId, @Param("count") int count);
+
+    /**
+     * Atomically adjust the pending bid counter.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Load l SET l.pendingBidCount = l.pendingBidCount + :delta WHERE l.loadId = :loadId")
+    int adjustPendingBidCount(@Param("loadId") UUID loadId, @Param("delta") int delta);
+
+    /**
+     * Recompute the pending bid counter of the given loads from the bids table.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Load l SET l.pendingBidCount = "
+            + "(SELECT CAST(COUNT(b) AS Integer) FROM Bid b WHERE b.load = l AND b.status = 'PENDING') "
+            + "WHERE l.loadId IN :loadIds")
+    int recountPendingBids(@Param("loadIds") Collection<UUID> loadIds);
+
+    /**
+     * Atomically adjust the allocated trucks counter.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Load l SET l.allocatedTrucks = l.allocatedTrucks + :delta WHERE l.loadId = :loadId")
+    int adjustAllocatedTrucks(@Param("loadId") UUID loadId, @Param("delta") int delta);
+
+    /**
+     * Recompute both counters from the bookings and bids tables for every load
+     * whose stored values have drifted.
+     *
+     * @return number of loads that were corrected
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Load l SET "
+            + "l.allocatedTrucks = (SELECT CAST(COALESCE(SUM(bk.allocatedTrucks), 0) AS Integer) FROM Booking bk WHERE bk.load = l AND bk.status = 'CONFIRMED'), "
+            + "l.pendingBidCount = (SELECT CAST(COUNT(b) AS Integer) FROM Bid b WHERE b.load = l AND b.status = 'PENDING') "
+            + "WHERE l.allocatedTrucks <> (SELECT CAST(COALESCE(SUM(bk.allocatedTrucks), 0) AS Integer) FROM Booking bk WHERE bk.load = l AND bk.status = 'CONFIRMED') "
+            + "OR l.pendingBidCount <> (SELECT CAST(COUNT(b) AS Integer) FROM Bid b WHERE b.load = l AND b.status = 'PENDING')")
+    int rebuildCounters();
 }
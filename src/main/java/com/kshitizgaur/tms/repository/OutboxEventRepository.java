@@ -0,0 +1,60 @@
+package com.kshitizgaur.tms.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.kshitizgaur.tms.entity.OutboxEvent;
+
+/**
+ * Repository for OutboxEvent entity.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest undelivered events, in delivery order. A load whose oldest
+     * pending event has failed contributes only that event, so a load that
+     * keeps failing cannot fill every batch and hold back the other loads.
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.dispatchedAt IS NULL AND e.parkedAt IS NULL "
+            + "AND NOT EXISTS (SELECT f.id FROM OutboxEvent f WHERE f.aggregateId = e.aggregateId "
+            + "AND f.dispatchedAt IS NULL AND f.parkedAt IS NULL AND f.attempts > 0 AND f.id < e.id) "
+            + "ORDER BY e.id ASC")
+    List<OutboxEvent> findPending(Limit limit);
+
+    /**
+     * Mark events as delivered.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.dispatchedAt = :now WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Count a failed delivery attempt.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Count a last failed delivery attempt and stop delivering the events.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.parkedAt = :now WHERE e.id IN :ids")
+    int park(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete events delivered before the cutoff.
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.dispatchedAt < :cutoff")
+    int deleteDispatchedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,5 +1,7 @@
 package com.kshitizgaur.tms.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,6 +24,12 @@ public interface TransporterRepository extends JpaRepository<Transporter, UUID>
     @Query("SELECT t FROM Transporter t LEFT JOIN FETCH t.availableTrucks WHERE t.transporterId = :transporterId")
     Optional<Transporter> findByIdWithTrucks(@Param("transporterId") UUID transporterId);
 
+    /**
+     * Find transporters with available trucks eagerly fetched.
+     */
+    @Query("SELECT DISTINCT t FROM Transporter t LEFT JOIN FETCH t.availableTrucks WHERE t.transporterId IN :transporterIds")
+    List<Transporter> findAllByIdWithTrucks(@Param("transporterIds") Collection<UUID> transporterIds);
+
     /**
      * Check if a transporter with the given company name exists.
      */
@@ -0,0 +1,10 @@
+package com.kshitizgaur.tms.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A pending bid's expiry time, with its load so expirations can be counted per load.
+ */
+public record BidExpiry(UUID bidId, UUID loadId, LocalDateTime expiresAt) {
+}
@@ -0,0 +1,9 @@
+package com.kshitizgaur.tms.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * A (load, transporter) pair; a transporter may bid on a load at most once.
+ */
+public record BidKey(UUID loadId, UUID transporterId) {
+}
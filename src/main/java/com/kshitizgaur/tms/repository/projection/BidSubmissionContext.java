@@ -0,0 +1,28 @@
+package com.kshitizgaur.tms.repository.projection;
+
+import java.util.UUID;
+
+import com.kshitizgaur.tms.entity.enums.LoadStatus;
+
+/**
+ * Everything needed to validate a bid submission, read in one query.
+ *
+ * @param transporterId   null when the transporter does not exist
+ * @param availableTrucks the transporter's trucks of the load's truck type
+ * @param alreadyBid      whether the transporter has already bid on the load
+ */
+public record BidSubmissionContext(
+        UUID loadId,
+        LoadStatus status,
+        String truckType,
+        Integer remainingTrucks,
+        UUID transporterId,
+        String transporterName,
+        Double transporterRating,
+        Long availableTrucks,
+        Boolean alreadyBid) {
+
+    public boolean transporterExists() {
+        return transporterId != null;
+    }
+}
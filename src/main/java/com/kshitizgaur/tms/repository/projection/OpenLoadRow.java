@@ -0,0 +1,20 @@
+package com.kshitizgaur.tms.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.kshitizgaur.tms.entity.enums.LoadStatus;
+
+/**
+ * The columns of a load the open-load index is built from, read as scalars
+ * so they always reflect the committed counters.
+ */
+public record OpenLoadRow(
+        UUID loadId,
+        LoadStatus status,
+        String loadingCityKey,
+        String unloadingCityKey,
+        String truckTypeKey,
+        LocalDateTime loadingDate,
+        Integer remainingTrucks) {
+}
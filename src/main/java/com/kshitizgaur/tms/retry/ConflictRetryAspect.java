@@ -0,0 +1,128 @@
+package com.kshitizgaur.tms.retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retries {@link RetryOnConflict} methods that fail with an optimistic-lock
+ * conflict. Ordered before the transaction interceptor, so every attempt
+ * runs in a fresh transaction and re-reads the rows it validates.
+ *
+ * The n-th retry waits a random time between zero and
+ * min(tms.retry.max-backoff, tms.retry.initial-backoff * 2^(n-1)) ("full
+ * jitter"), which spreads out requests that collided at the same moment.
+ * After tms.retry.max-attempts attempts the last conflict is rethrown.
+ *
+ * Published metrics, tagged with the method:
+ * tms.retry.retries (attempts re-run), tms.retry.recovered (calls that
+ * succeeded after retrying) and tms.retry.exhausted (calls that gave up).
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class ConflictRetryAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public ConflictRetryAspect(
+            MeterRegistry meterRegistry,
+            @Value("${tms.retry.max-attempts:4}") int maxAttempts,
+            @Value("${tms.retry.initial-backoff:10ms}") Duration initialBackoff,
+            @Value("${tms.retry.max-backoff:200ms}") Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("tms.retry.max-attempts must be at least 1");
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+    }
+
+    @Around("@annotation(com.kshitizgaur.tms.retry.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // The caller's transaction is the unit to retry
+            return joinPoint.proceed();
+        }
+
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+                + joinPoint.getSignature().getName();
+        for (int attempt = 1;; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                if (attempt > 1) {
+                    counter("tms.retry.recovered", method).increment();
+                }
+                return result;
+            } catch (RuntimeException e) {
+                if (!isConflict(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    counter("tms.retry.exhausted", method).increment();
+                    log.warn("{} still conflicting after {} attempts, giving up", method, attempt);
+                    throw e;
+                }
+                counter("tms.retry.retries", method).increment();
+                long backoff = backoffMillis(attempt);
+                log.debug("{} conflicted on attempt {}, retrying in {} ms", method, attempt, backoff);
+                if (!sleep(backoff)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Random wait before retry number {@code retry} (1-based).
+     */
+    long backoffMillis(int retry) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(retry - 1, 30));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    static boolean isConflict(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof OptimisticLockingFailureException || t instanceof OptimisticLockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Counter counter(String name, String method) {
+        return Counter.builder(name).tag("method", method).register(meterRegistry);
+    }
+
+    /**
+     * @return false if interrupted, in which case the caller should stop retrying
+     */
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
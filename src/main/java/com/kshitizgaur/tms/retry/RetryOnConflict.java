@@ -0,0 +1,23 @@
+package com.kshitizgaur.tms.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-run a transactional service method when it loses an optimistic-lock
+ * race, with jittered exponential backoff, before reporting the conflict.
+ *
+ * Only the outermost call is retried: a method called inside an existing
+ * transaction runs once and lets its caller's transaction be retried, since
+ * the failed transaction is already marked rollback-only.
+ *
+ * @see ConflictRetryAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+}
@@ -0,0 +1,34 @@
+package com.kshitizgaur.tms.scoring;
+
+/**
+ * Strategy for Rule 5 bid scores; higher is better.
+ *
+ * Scores may be normalized per load: the rate component of a bid can depend
+ * on the lowest rate among the load's pending bids, exposed here as a
+ * reference rate. Callers that keep scores (such as the best-bid rankings)
+ * must re-score a load when its reference rate changes.
+ */
+public interface BidScorer {
+
+    /**
+     * Reference rate for a load whose lowest pending rate is {@code lowestRate}.
+     */
+    double referenceRate(double lowestRate);
+
+    /**
+     * Score one bid against its load's reference rate.
+     */
+    double score(double rate, double rating, double referenceRate);
+
+    /**
+     * Score all bids of one load. {@code rates[i]} and {@code ratings[i]}
+     * belong to bid i; the result holds bid i's score at index i.
+     */
+    double[] scoreAll(double[] rates, double[] ratings);
+
+    /**
+     * A scorer with the same normalization and different weights; a null
+     * weight keeps this scorer's.
+     */
+    BidScorer withWeights(Double rateWeight, Double ratingWeight);
+}
@@ -0,0 +1,12 @@
+package com.kshitizgaur.tms.scoring;
+
+/**
+ * How the rate component of a bid score is scaled.
+ */
+public enum RateNormalization {
+    /** Raw {@code 1 / proposedRate}; tiny next to the rating component for real rates */
+    INVERSE,
+
+    /** {@code lowestRate / proposedRate} within the load, so the cheapest bid gets 1 */
+    LOWEST_RATE
+}
@@ -0,0 +1,21 @@
+package com.kshitizgaur.tms.scoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Default bid scorer, configured from {@code tms.scoring.*}.
+ */
+@Configuration
+public class ScoringConfig {
+
+    @Bean
+    public BidScorer bidScorer(
+            @Value("${tms.scoring.rate-weight:0.7}") double rateWeight,
+            @Value("${tms.scoring.rating-weight:0.3}") double ratingWeight,
+            @Value("${tms.scoring.normalization:LOWEST_RATE}") RateNormalization normalization,
+            @Value("${tms.scoring.parallel-threshold:10000}") int parallelThreshold) {
+        return new WeightedBidScorer(rateWeight, ratingWeight, normalization, parallelThreshold);
+    }
+}
@@ -0,0 +1,81 @@
+package com.kshitizgaur.tms.scoring;
+
+import java.util.stream.IntStream;
+
+/**
+ * Weighted sum of a rate component and a rating component:
+ * {@code score = rateWeight × referenceRate / rate + ratingWeight × rating / 5}.
+ * The reference rate is 1 for {@link RateNormalization#INVERSE} (the original
+ * Rule 5 formula) and the load's lowest pending rate for
+ * {@link RateNormalization#LOWEST_RATE}.
+ *
+ * {@link #scoreAll} works on primitive arrays in a single loop, split across
+ * the common fork-join pool when a load has at least
+ * {@code parallelThreshold} bids.
+ */
+public final class WeightedBidScorer implements BidScorer {
+
+    private static final double MAX_RATING = 5.0;
+
+    private final double rateWeight;
+    private final double ratingWeight;
+    private final RateNormalization normalization;
+    private final int parallelThreshold;
+
+    public WeightedBidScorer(double rateWeight, double ratingWeight, RateNormalization normalization,
+            int parallelThreshold) {
+        if (rateWeight < 0 || ratingWeight < 0 || rateWeight + ratingWeight <= 0) {
+            throw new IllegalArgumentException("Score weights must be non-negative and not both zero");
+        }
+        this.rateWeight = rateWeight;
+        this.ratingWeight = ratingWeight;
+        this.normalization = normalization;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public double referenceRate(double lowestRate) {
+        return normalization == RateNormalization.LOWEST_RATE ? lowestRate : 1.0;
+    }
+
+    @Override
+    public double score(double rate, double rating, double referenceRate) {
+        return rateWeight * (referenceRate / rate) + ratingWeight * (rating / MAX_RATING);
+    }
+
+    @Override
+    public double[] scoreAll(double[] rates, double[] ratings) {
+        if (rates.length != ratings.length) {
+            throw new IllegalArgumentException("rates and ratings must have the same length");
+        }
+        int n = rates.length;
+        double[] scores = new double[n];
+        if (n == 0) {
+            return scores;
+        }
+
+        double lowest = Double.POSITIVE_INFINITY;
+        for (double rate : rates) {
+            lowest = Math.min(lowest, rate);
+        }
+        double reference = referenceRate(lowest);
+
+        if (n >= parallelThreshold) {
+            IntStream.range(0, n).parallel()
+                    .forEach(i -> scores[i] = score(rates[i], ratings[i], reference));
+        } else {
+            for (int i = 0; i < n; i++) {
+                scores[i] = score(rates[i], ratings[i], reference);
+            }
+        }
+        return scores;
+    }
+
+    @Override
+    public BidScorer withWeights(Double rateWeight, Double ratingWeight) {
+        return new WeightedBidScorer(
+                rateWeight != null ? rateWeight : this.rateWeight,
+                ratingWeight != null ? ratingWeight : this.ratingWeight,
+                normalization, parallelThreshold);
+    }
+}
@@ -0,0 +1,277 @@
+package com.kshitizgaur.tms.service;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kshitizgaur.tms.dto.request.BatchBookingRequestDTO;
+import com.kshitizgaur.tms.dto.request.BidRequestDTO;
+import com.kshitizgaur.tms.dto.request.BookingRequestDTO;
+import com.kshitizgaur.tms.dto.response.AutoAwardResponseDTO;
+import com.kshitizgaur.tms.dto.response.BatchBookingResponseDTO;
+import com.kshitizgaur.tms.dto.response.BidRejectionDTO;
+import com.kshitizgaur.tms.dto.response.BidResponseDTO;
+import com.kshitizgaur.tms.dto.response.BookingResponseDTO;
+import com.kshitizgaur.tms.dto.response.LoadResponseDTO;
+import com.kshitizgaur.tms.entity.enums.AwardObjective;
+import com.kshitizgaur.tms.entity.enums.LoadStatus;
+import com.kshitizgaur.tms.event.LoadChangeType;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
+import com.kshitizgaur.tms.exception.DuplicateBidException;
+import com.kshitizgaur.tms.exception.InvalidStatusTransitionException;
+import com.kshitizgaur.tms.exception.ServiceBusyException;
+import com.kshitizgaur.tms.repository.BidRepository;
+import com.kshitizgaur.tms.repository.BookingRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional single-writer engine for load mutations.
+ *
+ * When enabled ({@code tms.auction.engine.enabled}), the single-load
+ * mutations of the API (bid submission and rejection, booking and booking
+ * cancellation, award, load cancellation and rejecting all pending bids) run
+ * on one of a fixed number of single-threaded stripes chosen by the load ID.
+ * Those mutations of one load are therefore applied one at a time in arrival
+ * order and never race each other on the duplicate, remaining-truck or status
+ * checks, while loads on other stripes proceed in parallel.
+ *
+ * Bulk bid submission ({@link BulkBidService}) and bid expiry
+ * ({@link BidExpiryService}) span many loads and do not go through the
+ * stripes and may interleave with a load's striped mutations. They rely on
+ * the same database checks and locks as the disabled engine: an expiry drops
+ * the load's book once committed, and a bulk bid the book has not seen is
+ * still caught by the database duplicate check.
+ *
+ * Each stripe keeps an in-memory book per load (its status and the
+ * transporters that have bid) so duplicate bids and bids on closed loads
+ * are rejected without a database round trip. Accepted work is written
+ * through the regular services; the database stays the source of truth and
+ * books are dropped whenever a committed change may have made them stale.
+ *
+ * When disabled, every call goes straight to the service.
+ */
+@Service
+@Slf4j
+public class AuctionEngine {
+
+    private final BidService bidService;
+    private final BookingService bookingService;
+    private final LoadService loadService;
+    private final AwardService awardService;
+    private final BidRepository bidRepository;
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+
+    private final ThreadPoolExecutor[] stripes;
+    private final Cache<UUID, LoadBook> books;
+
+    public AuctionEngine(
+            BidService bidService,
+            BookingService bookingService,
+            LoadService loadService,
+            AwardService awardService,
+            BidRepository bidRepository,
+            BookingRepository bookingRepository,
+            @Value("${tms.auction.engine.enabled:false}") boolean enabled,
+            @Value("${tms.auction.stripes:16}") int stripeCount,
+            @Value("${tms.auction.queue-capacity:1000}") int queueCapacity,
+            @Value("${tms.auction.max-books:10000}") long maxBooks) {
+        this.bidService = bidService;
+        this.bookingService = bookingService;
+        this.loadService = loadService;
+        this.awardService = awardService;
+        this.bidRepository = bidRepository;
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+        this.books = Caffeine.newBuilder().maximumSize(maxBooks).build();
+
+        this.stripes = new ThreadPoolExecutor[enabled ? stripeCount : 0];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("auction-" + i + "-"));
+        }
+        if (enabled) {
+            log.info("Auction engine enabled with {} stripes", stripeCount);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Submit a bid on its load's stripe.
+     */
+    public BidResponseDTO submitBid(BidRequestDTO request) {
+        if (!enabled) {
+            return bidService.submitBid(request);
+        }
+        return execute(request.getLoadId(), () -> {
+            // Null for an unknown load; the service reports it
+            LoadBook book = books.get(request.getLoadId(), this::loadBook);
+            if (book != null) {
+                book.check(request);
+            }
+            BidResponseDTO response = bidService.submitBid(request);
+            if (book != null) {
+                book.bidders.add(request.getTransporterId());
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Reject a bid on its load's stripe.
+     */
+    public BidResponseDTO rejectBid(UUID bidId) {
+        UUID loadId = enabled ? bidRepository.findLoadIdByBidId(bidId).orElse(null) : null;
+        return execute(loadId, () -> bidService.rejectBid(bidId));
+    }
+
+    /**
+     * Create a booking on its load's stripe.
+     */
+    public BookingResponseDTO createBooking(BookingRequestDTO request) {
+        UUID loadId = enabled ? bidRepository.findLoadIdByBidId(request.getBidId()).orElse(null) : null;
+        return execute(loadId, () -> bookingService.createBooking(request));
+    }
+
+    /**
+     * Book several bids of one load on its stripe.
+     */
+    public BatchBookingResponseDTO createBookings(BatchBookingRequestDTO request) {
+        return execute(request.getLoadId(), () -> bookingService.createBookings(request));
+    }
+
+    /**
+     * Cancel a booking on its load's stripe.
+     */
+    public BookingResponseDTO cancelBooking(UUID bookingId) {
+        UUID loadId = enabled ? bookingRepository.findLoadIdByBookingId(bookingId).orElse(null) : null;
+        return execute(loadId, () -> bookingService.cancelBooking(bookingId));
+    }
+
+    /**
+     * Auto-award a load on its stripe.
+     */
+    public AutoAwardResponseDTO autoAward(UUID loadId, AwardObjective objective) {
+        return execute(loadId, () -> awardService.autoAward(loadId, objective));
+    }
+
+    /**
+     * Cancel a load on its stripe.
+     */
+    public LoadResponseDTO cancelLoad(UUID loadId) {
+        return execute(loadId, () -> loadService.cancelLoad(loadId));
+    }
+
+    /**
+     * Reject every pending bid of a load on its stripe.
+     */
+    public BidRejectionDTO rejectAllPendingBids(UUID loadId) {
+        return execute(loadId, () -> loadService.rejectAllPendingBids(loadId));
+    }
+
+    /**
+     * Drop the book of a load after any committed change other than a bid
+     * submission (which the book tracks itself, or which the database check
+     * catches if it came through another path).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoadChanged(LoadChangedEvent event) {
+        if (enabled && event.getType() != LoadChangeType.BID_SUBMITTED) {
+            books.invalidate(event.getLoadId());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+    /**
+     * Run a mutation serially with every other mutation of the same load.
+     * Runs on the caller's thread when the engine is disabled or the load is
+     * unknown (the service then reports the missing resource).
+     */
+    private <T> T execute(UUID loadId, Supplier<T> task) {
+        if (!enabled || loadId == null) {
+            return task.get();
+        }
+
+        Future<T> result;
+        try {
+            result = stripeOf(loadId).submit(task::get);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("Too many pending requests for this load, please retry");
+        }
+
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for load " + loadId);
+        }
+    }
+
+    private ThreadPoolExecutor stripeOf(UUID loadId) {
+        return stripes[Math.floorMod(loadId.hashCode(), stripes.length)];
+    }
+
+    private LoadBook loadBook(UUID loadId) {
+        return bidRepository.findSubmissionContext(loadId, null)
+                .map(context -> new LoadBook(context.status(),
+                        new HashSet<>(bidRepository.findTransporterIdsByLoadId(loadId))))
+                .orElse(null);
+    }
+
+    /**
+     * In-memory state of one load, only touched from the load's stripe.
+     * Checks the same rules, in the same order and with the same errors, as
+     * {@link BidService#validateSubmission}; a bid that passes still goes
+     * through the database validation in {@link BidService#submitBid}.
+     */
+    private static final class LoadBook {
+
+        private final LoadStatus status;
+        private final Set<UUID> bidders;
+
+        private LoadBook(LoadStatus status, Set<UUID> bidders) {
+            this.status = status;
+            this.bidders = bidders;
+        }
+
+        private void check(BidRequestDTO request) {
+            if (status == LoadStatus.CANCELLED || status == LoadStatus.BOOKED) {
+                throw new InvalidStatusTransitionException("Cannot submit bid for " + status + " load");
+            }
+            if (bidders.contains(request.getTransporterId())) {
+                throw new DuplicateBidException("Transporter has already submitted a bid for this load");
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.kshitizgaur.tms.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kshitizgaur.tms.dto.request.BatchBookingRequestDTO;
+import com.kshitizgaur.tms.dto.request.BookingRequestDTO;
+import com.kshitizgaur.tms.dto.response.AutoAwardResponseDTO;
+import com.kshitizgaur.tms.dto.response.BookingResponseDTO;
+import com.kshitizgaur.tms.entity.AvailableTruck;
+import com.kshitizgaur.tms.entity.Bid;
+import com.kshitizgaur.tms.entity.Load;
+import com.kshitizgaur.tms.entity.enums.AwardObjective;
+import com.kshitizgaur.tms.entity.enums.LoadStatus;
+import com.kshitizgaur.tms.exception.InsufficientCapacityException;
+import com.kshitizgaur.tms.exception.InvalidStatusTransitionException;
+import com.kshitizgaur.tms.repository.AvailableTruckRepository;
+import com.kshitizgaur.tms.repository.BidRepository;
+import com.kshitizgaur.tms.retry.RetryOnConflict;
+import com.kshitizgaur.tms.scoring.BidScorer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for awarding a load to its pending bids automatically.
+ *
+ * Each bid can be allocated anywhere from zero to its offered trucks (capped
+ * by the transporter's current capacity), and the allocations must add up to
+ * exactly the load's remaining trucks. Both objectives are linear in the
+ * allocated trucks, so this bounded knapsack is solved exactly by filling
+ * from the best value per truck down: any other allocation can be improved by
+ * moving a truck to a better bid with spare capacity. That is a sort over the
+ * pending bids, so several hundred bids take well under a millisecond.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class AwardService {
+
+    private final BidRepository bidRepository;
+    private final AvailableTruckRepository availableTruckRepository;
+    private final LoadService loadService;
+    private final BookingService bookingService;
+    private final BidScorer bidScorer;
+
+    /**
+     * A pending bid as the solver sees it.
+     *
+     * @param maxTrucks trucks offered, capped by the transporter's current capacity
+     * @param rate      proposed rate per truck
+     * @param score     Rule 5 score per truck
+     */
+    record Candidate(UUID bidId, int maxTrucks, double rate, double score) {
+    }
+
+    record Allocation(Candidate candidate, int trucks) {
+    }
+
+    /**
+     * Book the pending bids that fill the load's remaining trucks at the best
+     * total for the objective. The bookings are made as one batch (see
+     * {@link BookingService#createBookings}), so either the load is fully
+     * awarded or nothing changes.
+     */
+    @RetryOnConflict
+    @Transactional
+    public AutoAwardResponseDTO autoAward(UUID loadId, AwardObjective objective) {
+        Load load = loadService.findById(loadId);
+        if (load.getStatus() != LoadStatus.POSTED && load.getStatus() != LoadStatus.OPEN_FOR_BIDS) {
+            throw new InvalidStatusTransitionException("Load", load.getStatus().name(), "award");
+        }
+        int remaining = loadService.getRemainingTrucks(loadId);
+
+        List<Bid> bids = bidRepository.findPendingBidsByLoadId(loadId).stream()
+                .filter(Bid::canBeAccepted)
+                .collect(Collectors.toList());
+        Set<UUID> transporterIds = bids.stream()
+                .map(bid -> bid.getTransporter().getTransporterId())
+                .collect(Collectors.toSet());
+        Map<UUID, Integer> capacity = transporterIds.isEmpty() ? Map.of() : availableTruckRepository
+                .findByTransporterTransporterIdInAndTruckType(transporterIds, load.getTruckType()).stream()
+                .collect(Collectors.toMap(truck -> truck.getTransporter().getTransporterId(), AvailableTruck::getCount));
+
+        double[] rates = bids.stream().mapToDouble(Bid::getProposedRate).toArray();
+        double[] ratings = bids.stream().mapToDouble(bid -> bid.getTransporter().getRating()).toArray();
+        double[] scores = bidScorer.scoreAll(rates, ratings);
+
+        List<Candidate> candidates = new ArrayList<>(bids.size());
+        for (int i = 0; i < bids.size(); i++) {
+            Bid bid = bids.get(i);
+            candidates.add(new Candidate(
+                    bid.getBidId(),
+                    Math.min(bid.getTrucksOffered(),
+                            capacity.getOrDefault(bid.getTransporter().getTransporterId(), 0)),
+                    rates[i],
+                    scores[i]));
+        }
+
+        List<Allocation> allocations = solve(candidates, remaining, objective);
+        log.info("Auto-awarding load {} ({}) to {} of {} pending bids", loadId, objective, allocations.size(),
+                candidates.size());
+
+        List<BookingRequestDTO> requests = new ArrayList<>(allocations.size());
+        double totalCost = 0;
+        double totalScore = 0;
+        for (Allocation allocation : allocations) {
+            requests.add(new BookingRequestDTO(allocation.candidate().bidId(), allocation.trucks()));
+            totalCost += allocation.candidate().rate() * allocation.trucks();
+            totalScore += allocation.candidate().score() * allocation.trucks();
+        }
+        List<BookingResponseDTO> bookings = bookingService
+                .createBookings(new BatchBookingRequestDTO(loadId, requests))
+                .getBookings();
+
+        return AutoAwardResponseDTO.builder()
+                .loadId(loadId)
+                .objective(objective)
+                .trucksAwarded(remaining)
+                .totalCost(totalCost)
+                .totalScore(totalScore)
+                .bookings(bookings)
+                .build();
+    }
+
+    /**
+     * Allocate exactly {@code remaining} trucks across the candidates at the
+     * best total for the objective. Ties keep the candidates' input order
+     * (oldest bid first).
+     *
+     * @throws InsufficientCapacityException if the candidates cannot fill the load
+     */
+    static List<Allocation> solve(List<Candidate> candidates, int remaining, AwardObjective objective) {
+        if (remaining <= 0) {
+            throw new IllegalArgumentException("Load has no remaining trucks to award");
+        }
+
+        Comparator<Candidate> best = objective == AwardObjective.MAX_SCORE
+                ? Comparator.comparingDouble(Candidate::score).reversed().thenComparingDouble(Candidate::rate)
+                : Comparator.comparingDouble(Candidate::rate).thenComparing(
+                        Comparator.comparingDouble(Candidate::score).reversed());
+        List<Candidate> ordered = new ArrayList<>(candidates);
+        ordered.sort(best);
+
+        List<Allocation> allocations = new ArrayList<>();
+        int left = remaining;
+        for (Candidate candidate : ordered) {
+            if (left == 0) {
+                break;
+            }
+            int trucks = Math.min(candidate.maxTrucks(), left);
+            if (trucks > 0) {
+                allocations.add(new Allocation(candidate, trucks));
+                left -= trucks;
+            }
+        }
+
+        if (left > 0) {
+            throw new InsufficientCapacityException("Pending bids can cover only " + (remaining - left)
+                    + " of the " + remaining + " remaining trucks");
+        }
+        return allocations;
+    }
+}
@@ -0,0 +1,230 @@
+package com.kshitizgaur.tms.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.kshitizgaur.tms.dto.response.BestBidDTO;
+import com.kshitizgaur.tms.event.LoadChangeType;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
+import com.kshitizgaur.tms.exception.ResourceNotFoundException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes the best-bid ranking of a load to Server-Sent Events subscribers.
+ *
+ * Committed changes only mark a load dirty; a coalescing tick then computes
+ * one snapshot per dirty load, however many changes arrived in between.
+ * Each subscriber holds at most one pending snapshot (newer replaces older),
+ * so a slow client never queues up rankings in memory. Writes go through a
+ * fixed sender pool (tms.sse.best-bids.sender-threads) and block while the
+ * client's socket is full: a stalled client holds one sender thread until
+ * the servlet container's write timeout fails the write and the subscriber
+ * is dropped. Once as many clients stall as there are sender threads, every
+ * other stream waits for them, so size the pool for the expected number of
+ * slow clients.
+ */
+@Service
+@Slf4j
+public class BestBidStreamService {
+
+    static final String EVENT_NAME = "best-bids";
+
+    private final LoadService loadService;
+    private final long emitterTimeoutMillis;
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<UUID, Boolean> dirtyLoads = new ConcurrentHashMap<>();
+    private final Set<UUID> closedLoads = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService coalescer;
+    private final ExecutorService senders;
+
+    public BestBidStreamService(
+            LoadService loadService,
+            @Value("${tms.sse.best-bids.coalesce-interval:250ms}") Duration coalesceInterval,
+            @Value("${tms.sse.best-bids.timeout:30m}") Duration emitterTimeout,
+            @Value("${tms.sse.best-bids.sender-threads:4}") int senderThreads) {
+        this.loadService = loadService;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.coalescer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("best-bids-coalesce-"));
+        this.senders = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("best-bids-sse-"));
+
+        long period = coalesceInterval.toMillis();
+        coalescer.scheduleWithFixedDelay(this::flushDirtyLoads, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a stream for a load. The current ranking is sent immediately.
+     *
+     * @param limit only push the top N bids (all bids when null)
+     */
+    public SseEmitter subscribe(UUID loadId, Integer limit) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(loadId, emitter, limit);
+
+        // Registered before the snapshot is read, so a change committed in
+        // between marks the load dirty instead of being missed
+        subscribers.computeIfAbsent(loadId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        List<BestBidDTO> snapshot;
+        try {
+            // Validates the load and limit before the stream is opened
+            snapshot = loadService.getBestBids(loadId, limit);
+        } catch (RuntimeException e) {
+            unsubscribe(subscriber);
+            throw e;
+        }
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        subscriber.offerInitial(snapshot);
+        log.debug("SSE subscriber added for load {}", loadId);
+
+        return emitter;
+    }
+
+    /**
+     * Mark the load dirty after its change has committed.
+     * Ordered after the ranking cache so the next tick reads the updated ranking.
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoadChanged(LoadChangedEvent event) {
+        if (!subscribers.containsKey(event.getLoadId())) {
+            return;
+        }
+        if (event.getType() == LoadChangeType.LOAD_CANCELLED) {
+            closedLoads.add(event.getLoadId());
+        }
+        dirtyLoads.put(event.getLoadId(), Boolean.TRUE);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coalescer.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+    }
+
+    private void flushDirtyLoads() {
+        for (UUID loadId : dirtyLoads.keySet()) {
+            dirtyLoads.remove(loadId);
+            Set<Subscriber> set = subscribers.get(loadId);
+            if (set == null || set.isEmpty()) {
+                continue;
+            }
+            boolean last = closedLoads.remove(loadId);
+            try {
+                List<BestBidDTO> snapshot = loadService.getBestBids(loadId);
+                set.forEach(subscriber -> subscriber.offer(snapshot, last));
+            } catch (ResourceNotFoundException e) {
+                set.forEach(subscriber -> subscriber.emitter.complete());
+            } catch (RuntimeException e) {
+                log.warn("Could not compute best bids for load {}", loadId, e);
+                dirtyLoads.put(loadId, Boolean.TRUE);
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.loadId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * One connected client with a single-slot, latest-wins buffer.
+     */
+    private final class Subscriber {
+
+        private final UUID loadId;
+        private final SseEmitter emitter;
+        private final Integer limit;
+        private final AtomicReference<List<BestBidDTO>> pending = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean offered = new AtomicBoolean();
+        private volatile boolean closeAfterDrain;
+
+        private Subscriber(UUID loadId, SseEmitter emitter, Integer limit) {
+            this.loadId = loadId;
+            this.emitter = emitter;
+            this.limit = limit;
+        }
+
+        /**
+         * Offer the snapshot read on subscribe, unless a tick already offered
+         * a ranking computed after a later change.
+         */
+        private void offerInitial(List<BestBidDTO> snapshot) {
+            if (offered.compareAndSet(false, true)) {
+                pending.set(snapshot);
+                scheduleDrain();
+            }
+        }
+
+        private void offer(List<BestBidDTO> snapshot, boolean last) {
+            offered.set(true);
+            pending.set(limit == null || snapshot.size() <= limit ? snapshot : snapshot.subList(0, limit));
+            if (last) {
+                closeAfterDrain = true;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                List<BestBidDTO> snapshot;
+                while ((snapshot = pending.getAndSet(null)) != null) {
+                    // Blocks this sender thread while the client is not reading
+                    emitter.send(SseEmitter.event().name(EVENT_NAME).data(snapshot, MediaType.APPLICATION_JSON));
+                }
+                if (closeAfterDrain) {
+                    emitter.complete();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter callbacks remove the subscriber
+                log.debug("Dropping SSE subscriber for load {}: {}", loadId, e.getMessage());
+                unsubscribe(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // A snapshot offered after the loop exited but before the flag was cleared
+            if (pending.get() != null) {
+                scheduleDrain();
+            }
+        }
+    }
+}
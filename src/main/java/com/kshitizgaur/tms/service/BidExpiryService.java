@@ -0,0 +1,206 @@
+package com.kshitizgaur.tms.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kshitizgaur.tms.event.LoadChangeType;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
+import com.kshitizgaur.tms.repository.BidRepository;
+import com.kshitizgaur.tms.repository.LoadRepository;
+import com.kshitizgaur.tms.repository.projection.BidExpiry;
+import com.kshitizgaur.tms.util.TimingWheel;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Expires pending bids at the end of their validity window.
+ *
+ * Bids only expire when they opt in: through the request's validityMinutes,
+ * or through a tms.bids.validity default when one is configured. Without
+ * either, a bid has no expiry time and stays pending until it is settled.
+ *
+ * Every pending bid with an expiry time sits in an in-memory hierarchical
+ * timing wheel, loaded from the database when the application is ready and
+ * fed by new submissions. A tick only visits the wheel slot that is due, so
+ * its cost does not grow with the number of waiting bids and the bids table
+ * is never polled. Due bids are flipped to EXPIRED in batched conditional
+ * UPDATEs; bids accepted or rejected in the meantime are skipped.
+ */
+@Service
+@Slf4j
+public class BidExpiryService {
+
+    private final BidRepository bidRepository;
+    private final LoadRepository loadRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration defaultValidity;
+    private final int batchSize;
+
+    /**
+     * Guarded by its own monitor; {@code overdue} holds bids that were already
+     * due when scheduled (or whose expiry failed) and fire on the next tick.
+     */
+    private final TimingWheel<UUID> wheel;
+    private final List<UUID> overdue = new ArrayList<>();
+
+    private final ScheduledExecutorService ticker;
+    private volatile boolean ready;
+
+    public BidExpiryService(
+            BidRepository bidRepository,
+            LoadRepository loadRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${tms.bids.validity:}") Duration defaultValidity,
+            @Value("${tms.bids.expiry.tick:1s}") Duration tick,
+            @Value("${tms.bids.expiry.wheel-size:512}") int wheelSize,
+            @Value("${tms.bids.expiry.batch-size:500}") int batchSize) {
+        this.bidRepository = bidRepository;
+        this.loadRepository = loadRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.defaultValidity = defaultValidity;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(tick.toMillis(), wheelSize, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("bid-expiry-"));
+
+        long period = tick.toMillis();
+        ticker.scheduleWithFixedDelay(this::tick, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Expiry time of a bid submitted at {@code submittedAt}, or null if it
+     * does not expire.
+     *
+     * @param validityMinutes requested validity, or null for tms.bids.validity
+     */
+    public LocalDateTime expiresAt(LocalDateTime submittedAt, Integer validityMinutes) {
+        if (validityMinutes != null) {
+            return submittedAt.plusMinutes(validityMinutes);
+        }
+        return defaultValidity != null ? submittedAt.plus(defaultValidity) : null;
+    }
+
+    /**
+     * Put a bid on the wheel. Safe to call before the submitting transaction
+     * commits: if it rolls back, the bid is not found PENDING when due and
+     * nothing happens.
+     */
+    public void schedule(UUID bidId, LocalDateTime expiresAt) {
+        if (expiresAt == null) {
+            return;
+        }
+        long deadline = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        synchronized (wheel) {
+            if (!wheel.add(bidId, deadline)) {
+                overdue.add(bidId);
+            }
+        }
+    }
+
+    /**
+     * Number of bids waiting to expire.
+     */
+    public int scheduledCount() {
+        synchronized (wheel) {
+            return wheel.size() + overdue.size();
+        }
+    }
+
+    /**
+     * Load every pending bid onto the wheel.
+     * Runs once on startup; later calls are no-ops.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void warmUp() {
+        if (ready) {
+            return;
+        }
+        int count = 0;
+        try (Stream<BidExpiry> expiries = bidRepository.streamPendingExpiries()) {
+            for (BidExpiry expiry : (Iterable<BidExpiry>) expiries::iterator) {
+                schedule(expiry.bidId(), expiry.expiresAt());
+                count++;
+            }
+        }
+        ready = true;
+        log.info("Bid expiry wheel loaded with {} pending bids", count);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Advance the wheel to now and expire whatever came due.
+     */
+    void tick() {
+        List<UUID> due;
+        synchronized (wheel) {
+            due = new ArrayList<>(overdue);
+            overdue.clear();
+            wheel.advanceTo(System.currentTimeMillis(), due::add);
+        }
+
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<UUID> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                expire(batch);
+            } catch (RuntimeException e) {
+                log.warn("Expiring {} bids failed, retrying on the next tick: {}", batch.size(), e.getMessage());
+                synchronized (wheel) {
+                    overdue.addAll(batch);
+                }
+            }
+        }
+    }
+
+    /**
+     * Expire the given bids that are still PENDING and past their expiry
+     * time, in one transaction: one read, one UPDATE of the bids and one
+     * recount of the affected loads' pending bid counters.
+     *
+     * @return number of bids expired
+     */
+    int expire(List<UUID> bidIds) {
+        Integer expired = transactionTemplate.execute(status -> {
+            List<BidExpiry> dueBids = bidRepository.findDueExpiries(bidIds, LocalDateTime.now());
+            if (dueBids.isEmpty()) {
+                return 0;
+            }
+            int count = bidRepository.expireBids(dueBids.stream().map(BidExpiry::bidId).collect(Collectors.toList()));
+            Set<UUID> loadIds = dueBids.stream().map(BidExpiry::loadId).collect(Collectors.toSet());
+            loadRepository.recountPendingBids(loadIds);
+            dueBids.forEach(bid -> eventPublisher.publishEvent(
+                    LoadChangedEvent.of(bid.loadId(), LoadChangeType.BID_EXPIRED, bid.bidId())));
+            return count;
+        });
+        if (expired != null && expired > 0) {
+            log.info("Expired {} bids", expired);
+        }
+        return expired != null ? expired : 0;
+    }
+}
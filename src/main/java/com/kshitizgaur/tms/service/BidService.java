@@ -1,24 +1,36 @@
 package com.kshitizgaur.tms.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.kshitizgaur.tms.dto.request.BidRequestDTO;
+import com.kshitizgaur.tms.dto.response.BestBidDTO;
 import com.kshitizgaur.tms.dto.response.BidResponseDTO;
+import com.kshitizgaur.tms.dto.response.CursorPageDTO;
 import com.kshitizgaur.tms.entity.Bid;
-import com.kshitizgaur.tms.entity.Load;
-import com.kshitizgaur.tms.entity.Transporter;
 import com.kshitizgaur.tms.entity.enums.BidStatus;
 import com.kshitizgaur.tms.entity.enums.LoadStatus;
+import com.kshitizgaur.tms.event.LoadChangeType;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
 import com.kshitizgaur.tms.exception.DuplicateBidException;
 import com.kshitizgaur.tms.exception.InsufficientCapacityException;
 import com.kshitizgaur.tms.exception.InvalidStatusTransitionException;
 import com.kshitizgaur.tms.exception.ResourceNotFoundException;
 import com.kshitizgaur.tms.repository.BidRepository;
+import com.kshitizgaur.tms.repository.projection.BidSubmissionContext;
+import com.kshitizgaur.tms.util.KeysetCursor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,87 +45,102 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional(readOnly = true)
 public class BidService {
 
+    private static final Sort SCROLL_SORT = Sort.by(Sort.Direction.DESC, "submittedAt", "bidId");
+
     private final BidRepository bidRepository;
     private final LoadService loadService;
     private final TransporterService transporterService;
+    private final BidExpiryService bidExpiryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Submit a new bid.
      * Rule 1: Validate transporter has sufficient truck capacity.
      * Rule 2: Validate load status allows bidding.
+     *
+     * Validation reads everything it needs in one query; the bid is then
+     * counted against the load with a conditional UPDATE (which also opens
+     * the load for bids) and inserted, so a submission costs three statements.
      */
     @Transactional
     public BidResponseDTO submitBid(BidRequestDTO request) {
         log.info("Submitting bid - Load: {}, Transporter: {}, Trucks: {}",
                 request.getLoadId(), request.getTransporterId(), request.getTrucksOffered());
 
-        // 1. Validate load exists and can accept bids
-        Load load = loadService.findById(request.getLoadId());
-        validateLoadCanAcceptBids(load);
-
-        // 2. Validate transporter exists
-        Transporter transporter = transporterService.findById(request.getTransporterId());
+        // 1. Load state, remaining trucks, capacity and duplicate flag in one round trip
+        BidSubmissionContext context = bidRepository
+                .findSubmissionContext(request.getLoadId(), request.getTransporterId())
+                .orElseThrow(() -> new ResourceNotFoundException("Load", "loadId", request.getLoadId()));
 
-        // 3. Check for duplicate bid
-        if (bidRepository.existsByLoadLoadIdAndTransporterTransporterId(
-                request.getLoadId(), request.getTransporterId())) {
-            throw new DuplicateBidException("Transporter has already submitted a bid for this load");
-        }
+        // 2. Rules 1 and 2, duplicate and remaining-trucks checks
+        validateSubmission(request, context);
 
-        // 4. Validate trucks offered doesn't exceed remaining trucks needed
-        int remainingTrucks = loadService.getRemainingTrucks(request.getLoadId());
-        if (request.getTrucksOffered() > remainingTrucks) {
-            throw new IllegalArgumentException(
-                    "Trucks offered (" + request.getTrucksOffered() + ") exceeds remaining trucks needed ("
-                            + remainingTrucks + ")");
-        }
+        // 3. Count the bid and open the load for bids, unless it closed since step 1
+        loadService.registerBid(request.getLoadId());
 
-        // 5. Rule 1: Validate transporter has sufficient capacity
-        int availableCount = transporter.getAvailableTruckCount(load.getTruckType());
-        if (request.getTrucksOffered() > availableCount) {
-            throw new InsufficientCapacityException(
-                    load.getTruckType(), request.getTrucksOffered(), availableCount);
-        }
-
-        // 6. Create bid
+        // 4. Create bid against references; the rows were validated above
+        LocalDateTime submittedAt = LocalDateTime.now();
         Bid bid = Bid.builder()
-                .load(load)
-                .transporter(transporter)
+                .load(loadService.getReference(request.getLoadId()))
+                .transporter(transporterService.getReference(request.getTransporterId()))
                 .proposedRate(request.getProposedRate())
                 .trucksOffered(request.getTrucksOffered())
                 .status(BidStatus.PENDING)
+                .submittedAt(submittedAt)
+                .expiresAt(bidExpiryService.expiresAt(submittedAt, request.getValidityMinutes()))
                 .build();
 
         Bid savedBid = bidRepository.save(bid);
         log.info("Bid created with ID: {}", savedBid.getBidId());
-
-        // 7. Transition load to OPEN_FOR_BIDS if this is the first bid
-        loadService.transitionToOpenForBids(request.getLoadId());
-
-        return BidResponseDTO.fromEntity(savedBid);
+        bidExpiryService.schedule(savedBid.getBidId(), savedBid.getExpiresAt());
+
+        // Built from the context so the transporter reference is never initialized
+        BidResponseDTO response = BidResponseDTO.builder()
+                .bidId(savedBid.getBidId())
+                .loadId(context.loadId())
+                .transporterId(context.transporterId())
+                .transporterName(context.transporterName())
+                .transporterRating(context.transporterRating())
+                .proposedRate(savedBid.getProposedRate())
+                .trucksOffered(savedBid.getTrucksOffered())
+                .status(savedBid.getStatus())
+                .submittedAt(savedBid.getSubmittedAt())
+                .expiresAt(savedBid.getExpiresAt())
+                .build();
+        eventPublisher.publishEvent(LoadChangedEvent.bidSubmitted(BestBidDTO.fromResponse(response)));
+        return response;
     }
 
     /**
-     * Get bids with optional filters.
+     * Get bids with optional filters, newest first, using keyset pagination on
+     * (submittedAt, bidId). Pages are capped at {@link LoadService#MAX_SCROLL_SIZE}
+     * and each is one query with the transporter joined in, so no call can
+     * load the whole table.
      */
-    public List<BidResponseDTO> getBids(UUID loadId, UUID transporterId, BidStatus status) {
-        List<Bid> bids;
+    public CursorPageDTO<BidResponseDTO> getBids(UUID loadId, UUID transporterId, BidStatus status,
+            String cursor, int size) {
+        ScrollPosition position = KeysetCursor.decode(cursor, "submittedAt", "bidId");
+        Limit limit = Limit.of(Math.max(1, Math.min(size, LoadService.MAX_SCROLL_SIZE)));
+        Window<Bid> bids;
 
         if (loadId != null && status != null) {
-            bids = bidRepository.findByLoadLoadIdAndStatus(loadId, status);
+            bids = bidRepository.findByLoadLoadIdAndStatus(loadId, status, position, limit, SCROLL_SORT);
         } else if (transporterId != null && status != null) {
-            bids = bidRepository.findByTransporterTransporterIdAndStatus(transporterId, status);
+            bids = bidRepository.findByTransporterTransporterIdAndStatus(transporterId, status, position, limit,
+                    SCROLL_SORT);
         } else if (loadId != null) {
-            bids = bidRepository.findByLoadLoadId(loadId);
+            bids = bidRepository.findByLoadLoadId(loadId, position, limit, SCROLL_SORT);
         } else if (transporterId != null) {
-            bids = bidRepository.findByTransporterTransporterId(transporterId);
+            bids = bidRepository.findByTransporterTransporterId(transporterId, position, limit, SCROLL_SORT);
+        } else if (status != null) {
+            bids = bidRepository.findByStatus(status, position, limit, SCROLL_SORT);
         } else {
-            bids = bidRepository.findAll();
+            bids = bidRepository.findAllBy(position, limit, SCROLL_SORT);
         }
 
-        return bids.stream()
-                .map(BidResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return CursorPageDTO.fromWindow(bids,
+                BidResponseDTO::fromEntity,
+                bid -> KeysetCursor.encode(bid.getSubmittedAt(), bid.getBidId()));
     }
 
     /**
@@ -135,14 +162,17 @@ public class BidService {
                 .orElseThrow(() -> new ResourceNotFoundException("Bid", "bidId", bidId));
 
         if (!bid.canBeRejected()) {
-            throw new InvalidStatusTransitionException("Bid", bid.getStatus().name(), "reject");
+            throw new InvalidStatusTransitionException("Bid", bid.currentStatus().name(), "reject");
         }
 
         log.info("Rejecting bid: {}", bidId);
         bid.setStatus(BidStatus.REJECTED);
 
         Bid savedBid = bidRepository.save(bid);
+        loadService.adjustPendingBidCount(bid.getLoad().getLoadId(), -1);
         log.info("Bid rejected: {}", bidId);
+        eventPublisher.publishEvent(
+                LoadChangedEvent.of(bid.getLoad().getLoadId(), LoadChangeType.BID_REJECTED, bidId));
 
         return BidResponseDTO.fromEntity(savedBid);
     }
@@ -155,6 +185,22 @@ public class BidService {
                 .orElseThrow(() -> new ResourceNotFoundException("Bid", "bidId", bidId));
     }
 
+    /**
+     * Find several bids by ID in one query.
+     *
+     * @throws ResourceNotFoundException if any of the bids does not exist
+     */
+    public Map<UUID, Bid> findAllById(Collection<UUID> bidIds) {
+        Map<UUID, Bid> bids = bidRepository.findAllWithDetailsByIdIn(bidIds).stream()
+                .collect(Collectors.toMap(Bid::getBidId, bid -> bid));
+        for (UUID bidId : bidIds) {
+            if (!bids.containsKey(bidId)) {
+                throw new ResourceNotFoundException("Bid", "bidId", bidId);
+            }
+        }
+        return bids;
+    }
+
     /**
      * Accept a bid (mark as ACCEPTED).
      */
@@ -163,30 +209,67 @@ public class BidService {
         Bid bid = findById(bidId);
 
         if (!bid.canBeAccepted()) {
-            throw new InvalidStatusTransitionException("Bid", bid.getStatus().name(), "accept");
+            throw new InvalidStatusTransitionException("Bid", bid.currentStatus().name(), "accept");
         }
 
         bid.setStatus(BidStatus.ACCEPTED);
         bidRepository.save(bid);
+        loadService.adjustPendingBidCount(bid.getLoad().getLoadId(), -1);
         log.info("Bid accepted: {}", bidId);
+        eventPublisher.publishEvent(
+                LoadChangedEvent.of(bid.getLoad().getLoadId(), LoadChangeType.BID_ACCEPTED, bidId));
     }
 
     /**
-     * Validate that load can accept bids.
-     * Rule 2: Cannot bid on CANCELLED or BOOKED loads.
+     * Validate a bid against the state read for it: load status, transporter
+     * existence, duplicate bid, truck capacity and remaining trucks, in that
+     * order. Shared with bulk submission so both paths report the same errors.
      */
-    private void validateLoadCanAcceptBids(Load load) {
-        if (!load.canAcceptBids()) {
-            throw new InvalidStatusTransitionException(
-                    "Cannot submit bid for load with status: " + load.getStatus());
+    static void validateSubmission(BidRequestDTO request, BidSubmissionContext context) {
+        // Rule 2: Validate load can accept bids
+        validateLoadCanAcceptBids(context.status());
+
+        // Validate transporter exists
+        if (!context.transporterExists()) {
+            throw new ResourceNotFoundException("Transporter", "transporterId", request.getTransporterId());
+        }
+
+        // Check for duplicate bid
+        if (context.alreadyBid()) {
+            throw new DuplicateBidException("Transporter has already submitted a bid for this load");
+        }
+
+        // Rule 1: Validate transporter has sufficient capacity
+        int availableCount = context.availableTrucks().intValue();
+        if (request.getTrucksOffered() > availableCount) {
+            throw new InsufficientCapacityException(
+                    context.truckType(), request.getTrucksOffered(), availableCount);
+        }
+
+        // Validate trucks offered doesn't exceed remaining trucks needed
+        int remainingTrucks = context.remainingTrucks();
+        if (request.getTrucksOffered() > remainingTrucks) {
+            throw new IllegalArgumentException(
+                    "Trucks offered (" + request.getTrucksOffered() + ") exceeds remaining trucks needed ("
+                            + remainingTrucks + ")");
         }
+    }
 
-        if (load.getStatus() == LoadStatus.CANCELLED) {
+    /**
+     * Validate that load can accept bids.
+     * Rule 2: Cannot bid on CANCELLED or BOOKED loads.
+     */
+    private static void validateLoadCanAcceptBids(LoadStatus status) {
+        if (status == LoadStatus.CANCELLED) {
             throw new InvalidStatusTransitionException("Cannot submit bid for CANCELLED load");
         }
 
-        if (load.getStatus() == LoadStatus.BOOKED) {
+        if (status == LoadStatus.BOOKED) {
             throw new InvalidStatusTransitionException("Cannot submit bid for BOOKED load");
         }
+
+        if (status != LoadStatus.POSTED && status != LoadStatus.OPEN_FOR_BIDS) {
+            throw new InvalidStatusTransitionException("Cannot submit bid for load with status: " + status);
+        }
     }
 }
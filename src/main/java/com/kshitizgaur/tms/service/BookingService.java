@@ -1,28 +1,45 @@
 package com.kshitizgaur.tms.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kshitizgaur.tms.allocation.LoadAllocator;
+import com.kshitizgaur.tms.dto.request.BatchBookingRequestDTO;
 import com.kshitizgaur.tms.dto.request.BookingRequestDTO;
+import com.kshitizgaur.tms.dto.response.BatchBookingResponseDTO;
 import com.kshitizgaur.tms.dto.response.BookingResponseDTO;
-import com.kshitizgaur.tms.entity.AvailableTruck;
+import com.kshitizgaur.tms.dto.response.CursorPageDTO;
 import com.kshitizgaur.tms.entity.Bid;
 import com.kshitizgaur.tms.entity.Booking;
 import com.kshitizgaur.tms.entity.Load;
 import com.kshitizgaur.tms.entity.Transporter;
 import com.kshitizgaur.tms.entity.enums.BidStatus;
 import com.kshitizgaur.tms.entity.enums.BookingStatus;
+import com.kshitizgaur.tms.event.LoadChangeType;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
 import com.kshitizgaur.tms.exception.InsufficientCapacityException;
 import com.kshitizgaur.tms.exception.InvalidStatusTransitionException;
 import com.kshitizgaur.tms.exception.LoadAlreadyBookedException;
 import com.kshitizgaur.tms.exception.ResourceNotFoundException;
 import com.kshitizgaur.tms.repository.AvailableTruckRepository;
 import com.kshitizgaur.tms.repository.BookingRepository;
+import com.kshitizgaur.tms.retry.RetryOnConflict;
+import com.kshitizgaur.tms.util.KeysetCursor;
 
-import jakarta.persistence.OptimisticLockException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -37,101 +54,227 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional(readOnly = true)
 public class BookingService {
 
+    private static final Sort SCROLL_SORT = Sort.by(Sort.Direction.DESC, "bookedAt", "bookingId");
+
     private final BookingRepository bookingRepository;
     private final AvailableTruckRepository availableTruckRepository;
     private final BidService bidService;
     private final LoadService loadService;
     private final TransporterService transporterService;
+    private final LoadAllocator loadAllocator;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a booking by accepting a bid.
      * Rule 1: Deduct trucks from transporter capacity.
      * Rule 3: Track multi-truck allocation.
-     * Rule 4: Handle concurrent booking with optimistic locking.
+     * Rule 4: Capacity is deducted with an atomic conditional UPDATE, so
+     * concurrent bookings fail only when the trucks have really run out; a
+     * conflicting load update re-runs the whole booking (see
+     * {@link RetryOnConflict}) and is reported only once retries run out.
      */
+    @RetryOnConflict
     @Transactional
     public BookingResponseDTO createBooking(BookingRequestDTO request) {
         log.info("Creating booking for bid: {}", request.getBidId());
 
-        try {
-            // 1. Find and validate bid
-            Bid bid = bidService.findById(request.getBidId());
+        // 1. Find and validate bid
+        Bid bid = bidService.findById(request.getBidId());
 
-            if (!bid.canBeAccepted()) {
-                throw new InvalidStatusTransitionException("Bid", bid.getStatus().name(), "accept");
-            }
+        if (!bid.canBeAccepted()) {
+            throw new InvalidStatusTransitionException("Bid", bid.currentStatus().name(), "accept");
+        }
 
-            // Check if booking already exists for this bid
-            if (bookingRepository.existsByBidBidId(request.getBidId())) {
-                throw new LoadAlreadyBookedException("Booking already exists for this bid");
-            }
+        // Check if booking already exists for this bid
+        if (bookingRepository.existsByBidBidId(request.getBidId())) {
+            throw new LoadAlreadyBookedException("Booking already exists for this bid");
+        }
 
-            Load load = bid.getLoad();
-            Transporter transporter = bid.getTransporter();
+        Load load = bid.getLoad();
+        Transporter transporter = bid.getTransporter();
 
-            // 2. Determine trucks to allocate
-            int trucksToAllocate = request.getAllocatedTrucks() != null
-                    ? request.getAllocatedTrucks()
-                    : bid.getTrucksOffered();
+        // 2. Determine trucks to allocate
+        int trucksToAllocate = request.getAllocatedTrucks() != null
+                ? request.getAllocatedTrucks()
+                : bid.getTrucksOffered();
 
-            // 3. Validate trucks to allocate doesn't exceed bid offer
-            if (trucksToAllocate > bid.getTrucksOffered()) {
-                throw new IllegalArgumentException(
-                        "Allocated trucks (" + trucksToAllocate + ") cannot exceed trucks offered in bid ("
-                                + bid.getTrucksOffered() + ")");
+        // 3. Validate trucks to allocate doesn't exceed bid offer
+        if (trucksToAllocate > bid.getTrucksOffered()) {
+            throw new IllegalArgumentException(
+                    "Allocated trucks (" + trucksToAllocate + ") cannot exceed trucks offered in bid ("
+                            + bid.getTrucksOffered() + ")");
+        }
+
+        // 4. Allocate the load's remaining trucks under the configured strategy,
+        // so concurrent bookings on the load cannot over-allocate it
+        loadAllocator.allocate(load, trucksToAllocate);
+
+        // 5. Rule 1: Deduct trucks from transporter capacity with one conditional
+        // UPDATE, so concurrent bookings only fail when capacity really runs out
+        deductTrucks(transporter.getTransporterId(), load.getTruckType(), trucksToAllocate);
+
+        // 6. Accept the bid
+        bid.setStatus(BidStatus.ACCEPTED);
+        loadService.adjustPendingBidCount(load.getLoadId(), -1);
+
+        // 7. Create booking
+        Booking booking = Booking.builder()
+                .load(load)
+                .bid(bid)
+                .transporter(transporter)
+                .allocatedTrucks(trucksToAllocate)
+                .finalRate(bid.getProposedRate())
+                .status(BookingStatus.CONFIRMED)
+                .build();
+
+        Booking savedBooking = bookingRepository.save(booking);
+        log.info("Booking created with ID: {} (allocated {} trucks)",
+                savedBooking.getBookingId(), trucksToAllocate);
+
+        // 8. Rule 3: Check if load is fully allocated
+        loadService.checkAndUpdateLoadStatus(load.getLoadId());
+        eventPublisher.publishEvent(
+                LoadChangedEvent.of(load.getLoadId(), LoadChangeType.BOOKING_CREATED, bid.getBidId()));
+
+        return BookingResponseDTO.fromEntity(savedBooking);
+    }
+
+    /**
+     * Book several bids of one load in one transaction, all or nothing.
+     * Applies the same rules as {@link #createBooking} to every bid, but the
+     * load's remaining trucks are checked and allocated once for the batch,
+     * capacity is deducted with one JDBC batch of conditional UPDATEs, the
+     * bookings are inserted with JDBC batching and the load is moved to
+     * BOOKED at most once.
+     */
+    @RetryOnConflict
+    @Transactional
+    public BatchBookingResponseDTO createBookings(BatchBookingRequestDTO request) {
+        UUID loadId = request.getLoadId();
+        List<BookingRequestDTO> items = request.getBookings();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one booking is required");
+        }
+        log.info("Creating {} bookings for load: {}", items.size(), loadId);
+
+        // 1. Find and validate the bids
+        Set<UUID> bidIds = new LinkedHashSet<>();
+        for (BookingRequestDTO item : items) {
+            if (!bidIds.add(item.getBidId())) {
+                throw new IllegalArgumentException("Bid " + item.getBidId() + " appears more than once in the batch");
             }
+        }
+        Map<UUID, Bid> bids = bidService.findAllById(bidIds);
+        List<UUID> booked = bookingRepository.findBookedBidIds(bidIds);
+        if (!booked.isEmpty()) {
+            throw new LoadAlreadyBookedException("Booking already exists for bid " + booked.get(0));
+        }
 
-            // 4. Validate remaining trucks needed
-            int remainingTrucks = loadService.getRemainingTrucks(load.getLoadId());
-            if (trucksToAllocate > remainingTrucks) {
+        Load load = null;
+        int[] trucksToAllocate = new int[items.size()];
+        int totalTrucks = 0;
+        for (int i = 0; i < items.size(); i++) {
+            BookingRequestDTO item = items.get(i);
+            Bid bid = bids.get(item.getBidId());
+            if (!bid.getLoad().getLoadId().equals(loadId)) {
+                throw new IllegalArgumentException("Bid " + bid.getBidId() + " does not belong to load " + loadId);
+            }
+            if (!bid.canBeAccepted()) {
+                throw new InvalidStatusTransitionException("Bid", bid.currentStatus().name(), "accept");
+            }
+            trucksToAllocate[i] = item.getAllocatedTrucks() != null
+                    ? item.getAllocatedTrucks()
+                    : bid.getTrucksOffered();
+            if (trucksToAllocate[i] > bid.getTrucksOffered()) {
                 throw new IllegalArgumentException(
-                        "Allocated trucks (" + trucksToAllocate + ") exceeds remaining trucks needed ("
-                                + remainingTrucks + ")");
+                        "Allocated trucks (" + trucksToAllocate[i] + ") cannot exceed trucks offered in bid ("
+                                + bid.getTrucksOffered() + ")");
             }
+            totalTrucks += trucksToAllocate[i];
+            load = bid.getLoad();
+        }
 
-            // 5. Rule 1: Deduct trucks from transporter capacity (with optimistic locking)
-            AvailableTruck availableTruck = availableTruckRepository
-                    .findByTransporterTransporterIdAndTruckType(transporter.getTransporterId(), load.getTruckType())
-                    .orElseThrow(() -> new InsufficientCapacityException(
-                            "Transporter does not have trucks of type: " + load.getTruckType()));
-
-            if (!availableTruck.hasSufficientCapacity(trucksToAllocate)) {
-                throw new InsufficientCapacityException(
-                        load.getTruckType(), trucksToAllocate, availableTruck.getCount());
-            }
+        // 2. Allocate the batch's trucks against the remaining trucks once
+        loadAllocator.allocate(load, totalTrucks);
 
-            // Deduct trucks (this triggers optimistic lock check on save)
-            availableTruck.deductTrucks(trucksToAllocate);
-            availableTruckRepository.save(availableTruck);
+        // 3. Rule 1: Deduct every transporter's capacity in one JDBC batch
+        Map<UUID, Integer> trucksByTransporter = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            trucksByTransporter.merge(bids.get(items.get(i).getBidId()).getTransporter().getTransporterId(),
+                    trucksToAllocate[i], Integer::sum);
+        }
+        List<UUID> shortOfTrucks = availableTruckRepository.deductTrucksInBatch(load.getTruckType(),
+                trucksByTransporter);
+        if (!shortOfTrucks.isEmpty()) {
+            throw insufficientCapacity(shortOfTrucks.get(0), load.getTruckType(),
+                    trucksByTransporter.get(shortOfTrucks.get(0)));
+        }
 
-            // 6. Accept the bid
+        // 4. Accept the bids and insert the bookings
+        List<Booking> bookings = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Bid bid = bids.get(items.get(i).getBidId());
             bid.setStatus(BidStatus.ACCEPTED);
-
-            // 7. Create booking
-            Booking booking = Booking.builder()
+            bookings.add(Booking.builder()
                     .load(load)
                     .bid(bid)
-                    .transporter(transporter)
-                    .allocatedTrucks(trucksToAllocate)
+                    .transporter(bid.getTransporter())
+                    .allocatedTrucks(trucksToAllocate[i])
                     .finalRate(bid.getProposedRate())
                     .status(BookingStatus.CONFIRMED)
-                    .build();
-
-            Booking savedBooking = bookingRepository.save(booking);
-            log.info("Booking created with ID: {} (allocated {} trucks)",
-                    savedBooking.getBookingId(), trucksToAllocate);
-
-            // 8. Rule 3: Check if load is fully allocated
-            loadService.checkAndUpdateLoadStatus(load.getLoadId());
+                    .build());
+        }
+        loadService.adjustPendingBidCount(loadId, -items.size());
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        log.info("Created {} bookings for load {} (allocated {} trucks)", savedBookings.size(), loadId, totalTrucks);
+
+        // 5. Rule 3: Check once whether the batch filled the load
+        loadService.checkAndUpdateLoadStatus(loadId);
+        for (Booking booking : savedBookings) {
+            eventPublisher.publishEvent(
+                    LoadChangedEvent.of(loadId, LoadChangeType.BOOKING_CREATED, booking.getBid().getBidId()));
+        }
 
-            return BookingResponseDTO.fromEntity(savedBooking);
+        return BatchBookingResponseDTO.builder()
+                .loadId(loadId)
+                .trucksAllocated(totalTrucks)
+                .loadStatus(load.getStatus())
+                .bookings(savedBookings.stream()
+                        .map(BookingResponseDTO::fromEntity)
+                        .collect(Collectors.toList()))
+                .build();
+    }
 
-        } catch (OptimisticLockException | ObjectOptimisticLockingFailureException e) {
-            // Rule 4: Concurrent booking conflict
-            log.warn("Concurrent booking conflict for bid: {}", request.getBidId());
-            throw new LoadAlreadyBookedException(
-                    "Booking conflict detected. Another transaction modified the resource. Please retry.");
+    /**
+     * Get one page of bookings with optional filters, newest first, scrolled
+     * by keyset on (bookedAt, bookingId). Pages are capped at
+     * {@link LoadService#MAX_SCROLL_SIZE} and each is one query with the load
+     * and transporter joined in, so no call can load the whole table.
+     */
+    public CursorPageDTO<BookingResponseDTO> getBookings(UUID loadId, UUID transporterId, BookingStatus status,
+            String cursor, int size) {
+        ScrollPosition position = KeysetCursor.decode(cursor, "bookedAt", "bookingId");
+        Limit limit = Limit.of(Math.max(1, Math.min(size, LoadService.MAX_SCROLL_SIZE)));
+        Window<Booking> bookings;
+
+        if (loadId != null && status != null) {
+            bookings = bookingRepository.findByLoadLoadIdAndStatus(loadId, status, position, limit, SCROLL_SORT);
+        } else if (transporterId != null && status != null) {
+            bookings = bookingRepository.findByTransporterTransporterIdAndStatus(transporterId, status, position,
+                    limit, SCROLL_SORT);
+        } else if (loadId != null) {
+            bookings = bookingRepository.findByLoadLoadId(loadId, position, limit, SCROLL_SORT);
+        } else if (transporterId != null) {
+            bookings = bookingRepository.findByTransporterTransporterId(transporterId, position, limit, SCROLL_SORT);
+        } else if (status != null) {
+            bookings = bookingRepository.findByStatus(status, position, limit, SCROLL_SORT);
+        } else {
+            bookings = bookingRepository.findAllBy(position, limit, SCROLL_SORT);
         }
+
+        return CursorPageDTO.fromWindow(bookings,
+                BookingResponseDTO::fromEntity,
+                booking -> KeysetCursor.encode(booking.getBookedAt(), booking.getBookingId()));
     }
 
     /**
@@ -149,6 +292,7 @@ public class BookingService {
      * Rule 1: Restore trucks to transporter capacity.
      * Rule 3: Update load status if needed.
      */
+    @RetryOnConflict
     @Transactional
     public BookingResponseDTO cancelBooking(UUID bookingId) {
         log.info("Cancelling booking: {}", bookingId);
@@ -163,14 +307,9 @@ public class BookingService {
         Load load = booking.getLoad();
         Transporter transporter = booking.getTransporter();
 
-        // 1. Rule 1: Restore trucks to transporter capacity
-        AvailableTruck availableTruck = availableTruckRepository
-                .findByTransporterTransporterIdAndTruckType(transporter.getTransporterId(), load.getTruckType())
-                .orElse(null);
-
-        if (availableTruck != null) {
-            availableTruck.restoreTrucks(booking.getAllocatedTrucks());
-            availableTruckRepository.save(availableTruck);
+        // 1. Rule 1: Restore trucks to transporter capacity (atomic increment)
+        if (availableTruckRepository.restoreTrucks(transporter.getTransporterId(), load.getTruckType(),
+                booking.getAllocatedTrucks()) > 0) {
             log.info("Restored {} trucks to transporter {}", booking.getAllocatedTrucks(),
                     transporter.getTransporterId());
         }
@@ -182,11 +321,37 @@ public class BookingService {
         // booking.getBid().setStatus(BidStatus.PENDING);
 
         Booking savedBooking = bookingRepository.save(booking);
+        loadService.adjustAllocatedTrucks(load.getLoadId(), -booking.getAllocatedTrucks());
         log.info("Booking cancelled: {}", bookingId);
 
         // 4. Rule 3: Revert load status if needed
         loadService.revertLoadStatusIfNeeded(load.getLoadId());
+        eventPublisher.publishEvent(LoadChangedEvent.of(
+                load.getLoadId(), LoadChangeType.BOOKING_CANCELLED, booking.getBid().getBidId()));
 
         return BookingResponseDTO.fromEntity(savedBooking);
     }
+
+    /**
+     * Deduct trucks from a transporter's capacity, or explain why it could not
+     * be done. The current count is only read when the deduction fails.
+     *
+     * @throws InsufficientCapacityException if the transporter lacks the trucks
+     */
+    private void deductTrucks(UUID transporterId, String truckType, int trucks) {
+        if (availableTruckRepository.deductTrucks(transporterId, truckType, trucks) == 0) {
+            throw insufficientCapacity(transporterId, truckType, trucks);
+        }
+    }
+
+    /**
+     * Explain a failed capacity deduction from the transporter's current count.
+     */
+    private InsufficientCapacityException insufficientCapacity(UUID transporterId, String truckType, int trucks) {
+        return availableTruckRepository.findByTransporterTransporterIdAndTruckType(transporterId, truckType)
+                .map(availableTruck -> new InsufficientCapacityException(truckType, trucks,
+                        availableTruck.getCount()))
+                .orElseGet(() -> new InsufficientCapacityException(
+                        "Transporter does not have trucks of type: " + truckType));
+    }
 }
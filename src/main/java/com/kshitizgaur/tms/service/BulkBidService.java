@@ -0,0 +1,232 @@
+package com.kshitizgaur.tms.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kshitizgaur.tms.dto.request.BidRequestDTO;
+import com.kshitizgaur.tms.dto.response.BestBidDTO;
+import com.kshitizgaur.tms.dto.response.BulkItemResultDTO;
+import com.kshitizgaur.tms.dto.response.BulkResultDTO;
+import com.kshitizgaur.tms.entity.Bid;
+import com.kshitizgaur.tms.entity.Load;
+import com.kshitizgaur.tms.entity.Transporter;
+import com.kshitizgaur.tms.entity.enums.BidStatus;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
+import com.kshitizgaur.tms.exception.DuplicateBidException;
+import com.kshitizgaur.tms.exception.InsufficientCapacityException;
+import com.kshitizgaur.tms.exception.InvalidStatusTransitionException;
+import com.kshitizgaur.tms.exception.ResourceNotFoundException;
+import com.kshitizgaur.tms.repository.BidRepository;
+import com.kshitizgaur.tms.repository.LoadRepository;
+import com.kshitizgaur.tms.repository.TransporterRepository;
+import com.kshitizgaur.tms.repository.projection.BidKey;
+import com.kshitizgaur.tms.repository.projection.BidSubmissionContext;
+import com.kshitizgaur.tms.util.BulkItemValidation;
+
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for submitting many bids in one request.
+ *
+ * The whole batch is validated with set-based reads: every referenced load
+ * in one query, every referenced transporter with its trucks in one query
+ * and the existing (load, transporter) pairs in one query. Accepted bids are
+ * counted with one conditional UPDATE per load and inserted with JDBC
+ * batching, all in a single transaction.
+ */
+@Service
+@Slf4j
+public class BulkBidService {
+
+    private final BidRepository bidRepository;
+    private final LoadRepository loadRepository;
+    private final TransporterRepository transporterRepository;
+    private final BidService bidService;
+    private final BidExpiryService bidExpiryService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final int maxItems;
+
+    public BulkBidService(
+            BidRepository bidRepository,
+            LoadRepository loadRepository,
+            TransporterRepository transporterRepository,
+            BidService bidService,
+            BidExpiryService bidExpiryService,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            Validator validator,
+            @Value("${tms.bulk.max-items:1000}") int maxItems) {
+        this.bidRepository = bidRepository;
+        this.loadRepository = loadRepository;
+        this.transporterRepository = transporterRepository;
+        this.bidService = bidService;
+        this.bidExpiryService = bidExpiryService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Submit bids, returning one result per request item in request order.
+     * Items rejected by the bid rules are INVALID with the same reason
+     * {@code POST /bid} would give. If the batch cannot be committed (for
+     * example a concurrent submission of the same bid), it is retried item by
+     * item through the single-bid path.
+     */
+    public BulkResultDTO submitBids(List<BidRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one bid is required");
+        }
+        if (requests.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " bids can be submitted per request");
+        }
+
+        BulkItemResultDTO[] results = new BulkItemResultDTO[requests.size()];
+        List<Integer> valid = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            String error = BulkItemValidation.validate(validator, requests.get(i), "Bid is required");
+            if (error == null) {
+                valid.add(i);
+            } else {
+                results[i] = BulkItemResultDTO.invalid(i, error);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            try {
+                Map<Integer, BulkItemResultDTO> submitted = transactionTemplate
+                        .execute(status -> submit(valid, requests));
+                submitted.forEach((index, result) -> results[index] = result);
+            } catch (RuntimeException e) {
+                log.warn("Bulk bid batch of {} failed, retrying items individually: {}", valid.size(), e.getMessage());
+                for (Integer index : valid) {
+                    results[index] = submitOne(index, requests.get(index));
+                }
+            }
+        }
+
+        BulkResultDTO result = BulkResultDTO.of(Arrays.asList(results));
+        log.info("Bulk bid submission: {} created, {} not created", result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * Validate and insert the given items in the current transaction.
+     */
+    private Map<Integer, BulkItemResultDTO> submit(List<Integer> indexes, List<BidRequestDTO> requests) {
+        Set<UUID> loadIds = indexes.stream()
+                .map(index -> requests.get(index).getLoadId())
+                .collect(Collectors.toSet());
+        Set<UUID> transporterIds = indexes.stream()
+                .map(index -> requests.get(index).getTransporterId())
+                .collect(Collectors.toSet());
+
+        Map<UUID, Load> loads = loadRepository.findAllById(loadIds).stream()
+                .collect(Collectors.toMap(Load::getLoadId, Function.identity()));
+        Map<UUID, Transporter> transporters = transporterRepository.findAllByIdWithTrucks(transporterIds).stream()
+                .collect(Collectors.toMap(Transporter::getTransporterId, Function.identity()));
+        // Pairs accepted earlier in this batch count as existing bids too
+        Set<BidKey> existing = new HashSet<>(bidRepository.findBidKeys(loadIds, transporterIds));
+
+        Map<Integer, BulkItemResultDTO> results = new LinkedHashMap<>();
+        Map<UUID, List<Integer>> acceptedByLoad = new LinkedHashMap<>();
+
+        for (Integer index : indexes) {
+            BidRequestDTO request = requests.get(index);
+            try {
+                Load load = loads.get(request.getLoadId());
+                if (load == null) {
+                    throw new ResourceNotFoundException("Load", "loadId", request.getLoadId());
+                }
+                BidKey key = new BidKey(request.getLoadId(), request.getTransporterId());
+                BidService.validateSubmission(request,
+                        context(load, transporters.get(request.getTransporterId()), existing.contains(key)));
+                existing.add(key);
+                acceptedByLoad.computeIfAbsent(load.getLoadId(), id -> new ArrayList<>()).add(index);
+            } catch (ResourceNotFoundException | InvalidStatusTransitionException | DuplicateBidException
+                    | InsufficientCapacityException | IllegalArgumentException e) {
+                results.put(index, BulkItemResultDTO.invalid(index, e.getMessage()));
+            }
+        }
+
+        // Count the bids per load; a load closed since it was read takes none
+        List<Integer> accepted = new ArrayList<>();
+        acceptedByLoad.forEach((loadId, loadIndexes) -> {
+            if (loadRepository.registerBids(loadId, loadIndexes.size()) == 0) {
+                String error = "Load " + loadId + " is no longer open for bids";
+                loadIndexes.forEach(index -> results.put(index, BulkItemResultDTO.invalid(index, error)));
+            } else {
+                accepted.addAll(loadIndexes);
+            }
+        });
+
+        LocalDateTime submittedAt = LocalDateTime.now();
+        List<Bid> bids = accepted.stream()
+                .map(index -> {
+                    BidRequestDTO request = requests.get(index);
+                    return Bid.builder()
+                            .load(loads.get(request.getLoadId()))
+                            .transporter(transporters.get(request.getTransporterId()))
+                            .proposedRate(request.getProposedRate())
+                            .trucksOffered(request.getTrucksOffered())
+                            .status(BidStatus.PENDING)
+                            .submittedAt(submittedAt)
+                            .expiresAt(bidExpiryService.expiresAt(submittedAt, request.getValidityMinutes()))
+                            .build();
+                })
+                .collect(Collectors.toList());
+        List<Bid> saved = bidRepository.saveAll(bids);
+        bidRepository.flush();
+
+        for (int i = 0; i < accepted.size(); i++) {
+            Bid bid = saved.get(i);
+            results.put(accepted.get(i), BulkItemResultDTO.created(accepted.get(i), bid.getBidId()));
+            bidExpiryService.schedule(bid.getBidId(), bid.getExpiresAt());
+            eventPublisher.publishEvent(LoadChangedEvent.bidSubmitted(BestBidDTO.fromEntity(bid)));
+        }
+        return results;
+    }
+
+    private BulkItemResultDTO submitOne(int index, BidRequestDTO request) {
+        try {
+            return BulkItemResultDTO.created(index, bidService.submitBid(request).getBidId());
+        } catch (ResourceNotFoundException | InvalidStatusTransitionException | DuplicateBidException
+                | InsufficientCapacityException | IllegalArgumentException e) {
+            return BulkItemResultDTO.invalid(index, e.getMessage());
+        } catch (RuntimeException e) {
+            return BulkItemResultDTO.failed(index, e.getMessage());
+        }
+    }
+
+    private static BidSubmissionContext context(Load load, Transporter transporter, boolean alreadyBid) {
+        return new BidSubmissionContext(
+                load.getLoadId(),
+                load.getStatus(),
+                load.getTruckType(),
+                load.getRemainingTrucks(),
+                transporter != null ? transporter.getTransporterId() : null,
+                transporter != null ? transporter.getCompanyName() : null,
+                transporter != null ? transporter.getRating() : null,
+                transporter != null ? (long) transporter.getAvailableTruckCount(load.getTruckType()) : 0L,
+                alreadyBid);
+    }
+}
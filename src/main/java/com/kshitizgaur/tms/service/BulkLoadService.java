@@ -0,0 +1,124 @@
+package com.kshitizgaur.tms.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kshitizgaur.tms.dto.request.LoadRequestDTO;
+import com.kshitizgaur.tms.dto.response.BulkItemResultDTO;
+import com.kshitizgaur.tms.dto.response.BulkResultDTO;
+import com.kshitizgaur.tms.entity.Load;
+import com.kshitizgaur.tms.event.LoadChangeType;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
+import com.kshitizgaur.tms.repository.LoadRepository;
+import com.kshitizgaur.tms.util.BulkItemValidation;
+
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for creating many loads in one request.
+ *
+ * Items are validated individually; valid items are inserted in chunks, one
+ * transaction per chunk, so Hibernate can send each chunk's INSERTs as JDBC
+ * batches (hibernate.jdbc.batch_size). Load IDs come from Hibernate's
+ * in-memory UUID generator, so no round trip is needed to assign them.
+ */
+@Service
+@Slf4j
+public class BulkLoadService {
+
+    private final LoadRepository loadRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public BulkLoadService(
+            LoadRepository loadRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            Validator validator,
+            @Value("${tms.bulk.chunk-size:100}") int chunkSize,
+            @Value("${tms.bulk.max-items:1000}") int maxItems) {
+        this.loadRepository = loadRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Create loads, returning one result per request item in request order.
+     * A chunk that fails to commit is retried item by item so only the
+     * offending items are reported as FAILED.
+     */
+    public BulkResultDTO createLoads(List<LoadRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one load is required");
+        }
+        if (requests.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " loads can be created per request");
+        }
+
+        BulkItemResultDTO[] results = new BulkItemResultDTO[requests.size()];
+        List<Integer> valid = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            String error = BulkItemValidation.validate(validator, requests.get(i), "Load is required");
+            if (error == null) {
+                valid.add(i);
+            } else {
+                results[i] = BulkItemResultDTO.invalid(i, error);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            try {
+                insert(chunk, requests, results);
+            } catch (RuntimeException e) {
+                log.warn("Bulk load chunk of {} failed, retrying items individually: {}", chunk.size(), e.getMessage());
+                for (Integer index : chunk) {
+                    try {
+                        insert(List.of(index), requests, results);
+                    } catch (RuntimeException itemError) {
+                        results[index] = BulkItemResultDTO.failed(index, itemError.getMessage());
+                    }
+                }
+            }
+        }
+
+        BulkResultDTO result = BulkResultDTO.of(Arrays.asList(results));
+        log.info("Bulk load creation: {} created, {} not created", result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * Insert the given items in one transaction and record their IDs.
+     */
+    private void insert(List<Integer> indexes, List<LoadRequestDTO> requests, BulkItemResultDTO[] results) {
+        List<Load> saved = transactionTemplate.execute(status -> {
+            List<Load> loads = indexes.stream()
+                    .map(index -> LoadService.newLoad(requests.get(index)))
+                    .collect(Collectors.toList());
+            List<Load> persisted = loadRepository.saveAll(loads);
+            loadRepository.flush();
+            persisted.forEach(load -> eventPublisher.publishEvent(
+                    LoadChangedEvent.of(load.getLoadId(), LoadChangeType.LOAD_CREATED)));
+            return persisted;
+        });
+
+        for (int i = 0; i < indexes.size(); i++) {
+            results[indexes.get(i)] = BulkItemResultDTO.created(indexes.get(i), saved.get(i).getLoadId());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.kshitizgaur.tms.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.kshitizgaur.tms.dto.response.LoadResponseDTO;
+import com.kshitizgaur.tms.entity.Load;
+import com.kshitizgaur.tms.entity.enums.LoadStatus;
+import com.kshitizgaur.tms.repository.LoadRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for exporting loads as newline-delimited JSON (NDJSON).
+ * Rows are read through a database cursor and written one at a time, so
+ * memory use does not grow with the size of the export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoadExportService {
+
+    private static final Sort EXPORT_SORT = Sort.by(Sort.Direction.DESC, "datePosted", "loadId");
+
+    /**
+     * Number of rows written between flushes of the output stream.
+     */
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final LoadRepository loadRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write every load matching the filters to {@code out}, one JSON object per line.
+     * Supports the same filters as {@link LoadService#getLoads}.
+     *
+     * @return number of loads written
+     */
+    @Transactional(readOnly = true)
+    public long exportLoads(String shipperId, LoadStatus status, OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(LoadResponseDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long written = 0;
+
+        try (Stream<Load> loads = streamLoads(shipperId, status)) {
+            Iterator<Load> it = loads.iterator();
+            while (it.hasNext()) {
+                Load load = it.next();
+                writer.writeValue(out, LoadResponseDTO.fromEntity(
+                        load, load.getRemainingTrucks(), load.getPendingBidCount()));
+                out.write('\n');
+
+                // Keep the persistence context from accumulating every exported row
+                entityManager.detach(load);
+
+                if (++written % FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Exported {} loads (shipperId={}, status={})", written, shipperId, status);
+        return written;
+    }
+
+    private Stream<Load> streamLoads(String shipperId, LoadStatus status) {
+        if (shipperId != null && status != null) {
+            return loadRepository.streamByShipperIdAndStatus(shipperId, status, EXPORT_SORT);
+        } else if (shipperId != null) {
+            return loadRepository.streamByShipperId(shipperId, EXPORT_SORT);
+        } else if (status != null) {
+            return loadRepository.streamByStatus(status, EXPORT_SORT);
+        }
+        return loadRepository.streamAllBy(EXPORT_SORT);
+    }
+}
@@ -0,0 +1,198 @@
+package com.kshitizgaur.tms.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kshitizgaur.tms.cache.OpenLoadIndex;
+import com.kshitizgaur.tms.dto.response.CursorPageDTO;
+import com.kshitizgaur.tms.dto.response.LoadResponseDTO;
+import com.kshitizgaur.tms.entity.AvailableTruck;
+import com.kshitizgaur.tms.entity.Bid;
+import com.kshitizgaur.tms.entity.Load;
+import com.kshitizgaur.tms.entity.Transporter;
+import com.kshitizgaur.tms.repository.BidRepository;
+import com.kshitizgaur.tms.repository.LoadRepository;
+import com.kshitizgaur.tms.util.KeysetCursor;
+import com.kshitizgaur.tms.util.SearchKeys;
+
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for finding open loads: lane search by city pair, truck type and
+ * loading-date window, and fleet matching for transporters.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class LoadSearchService {
+
+    public static final int MAX_SEARCH_LIMIT = 200;
+
+    private static final Sort MATCH_SORT = Sort.by("loadingDate", "loadId");
+
+    private final LoadRepository loadRepository;
+    private final BidRepository bidRepository;
+    private final TransporterService transporterService;
+    private final OpenLoadIndex openLoadIndex;
+
+    /**
+     * Search open loads on a lane, earliest loading date first.
+     * City and truck type matching is case- and whitespace-insensitive.
+     * Matching IDs come from the in-memory lane index and are hydrated by
+     * primary key; before the index is built the composite lane index on
+     * the loads table is queried instead.
+     */
+    public List<LoadResponseDTO> searchLoads(String loadingCity, String unloadingCity, String truckType,
+            LocalDateTime loadingFrom, LocalDateTime loadingTo, int limit) {
+        String loadingCityKey = SearchKeys.normalize(loadingCity);
+        String unloadingCityKey = SearchKeys.normalize(unloadingCity);
+        if (loadingCityKey == null || unloadingCityKey == null) {
+            throw new IllegalArgumentException("loadingCity and unloadingCity are required");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        if (loadingFrom != null && loadingTo != null && loadingFrom.isAfter(loadingTo)) {
+            throw new IllegalArgumentException("loadingFrom must not be after loadingTo");
+        }
+        String truckTypeKey = SearchKeys.normalize(truckType);
+
+        if (!openLoadIndex.isReady()) {
+            log.debug("Lane index not ready, searching the database");
+            return loadRepository.searchLane(loadingCityKey, unloadingCityKey, truckTypeKey, loadingFrom,
+                    loadingTo, OpenLoadIndex.OPEN_STATUSES, Pageable.ofSize(limit)).stream()
+                    .map(this::toResponse)
+                    .collect(Collectors.toList());
+        }
+
+        List<UUID> loadIds = openLoadIndex.search(loadingCityKey, unloadingCityKey, truckTypeKey,
+                loadingFrom, loadingTo, limit).stream()
+                .map(OpenLoadIndex.Entry::loadId)
+                .collect(Collectors.toList());
+        return hydrate(loadIds).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Find open loads a transporter could take with its own fleet, earliest
+     * loading date first. A load matches when the transporter has trucks of its
+     * type, at least as many as the load still needs, and has not already bid
+     * on it. Paginated with an opaque (loadingDate, loadId) cursor. Served from
+     * the open-load index; before it is built, the database is scrolled by
+     * keyset with the same cursor.
+     */
+    public CursorPageDTO<LoadResponseDTO> findMatchingLoads(UUID transporterId, String cursor, int size) {
+        KeysetCursor.Key after = KeysetCursor.decodeKey(cursor);
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_LIMIT));
+
+        Transporter transporter = transporterService.findById(transporterId);
+        Map<String, Integer> countsByTruckType = transporter.getAvailableTrucks().stream()
+                .collect(Collectors.toMap(truck -> SearchKeys.normalize(truck.getTruckType()),
+                        AvailableTruck::getCount, Integer::sum));
+
+        if (!openLoadIndex.isReady()) {
+            log.debug("Lane index not ready, matching against the database");
+            Window<Load> loads = loadRepository.findBy(matching(transporterId, countsByTruckType),
+                    query -> query.sortBy(MATCH_SORT)
+                            .limit(limit)
+                            .scroll(KeysetCursor.decode(cursor, "loadingDate", "loadId")));
+            return CursorPageDTO.fromWindow(loads,
+                    this::toResponse,
+                    load -> KeysetCursor.encode(load.getLoadingDate(), load.getLoadId()));
+        }
+
+        Set<UUID> alreadyBid = bidRepository.findLoadIdsByTransporterId(transporterId);
+
+        // One extra entry tells whether another page exists
+        List<OpenLoadIndex.Entry> entries = openLoadIndex.match(countsByTruckType, alreadyBid,
+                after == null ? null : after.timestamp(), after == null ? null : after.id(), limit + 1);
+        boolean hasMore = entries.size() > limit;
+        List<OpenLoadIndex.Entry> page = hasMore ? entries.subList(0, limit) : entries;
+
+        List<LoadResponseDTO> content = hydrate(page.stream()
+                .map(OpenLoadIndex.Entry::loadId)
+                .collect(Collectors.toList())).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+
+        // The cursor follows the index order even if a hydrated load was skipped
+        OpenLoadIndex.Entry last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return CursorPageDTO.<LoadResponseDTO>builder()
+                .content(content)
+                .size(content.size())
+                .nextCursor(hasMore ? KeysetCursor.encode(last.loadingDate(), last.loadId()) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Open loads of a truck type in the fleet that need no more trucks than the
+     * fleet has of that type, and that the transporter has not bid on.
+     */
+    private static Specification<Load> matching(UUID transporterId, Map<String, Integer> countsByTruckType) {
+        return (load, query, cb) -> {
+            List<Predicate> fits = new ArrayList<>();
+            countsByTruckType.forEach((truckTypeKey, available) -> {
+                if (available > 0) {
+                    fits.add(cb.and(
+                            cb.equal(load.get("truckTypeKey"), truckTypeKey),
+                            cb.le(cb.diff(load.<Integer>get("noOfTrucks"), load.<Integer>get("allocatedTrucks")),
+                                    available)));
+                }
+            });
+
+            Subquery<UUID> bid = query.subquery(UUID.class);
+            Root<Bid> bids = bid.from(Bid.class);
+            bid.select(bids.get("bidId")).where(
+                    cb.equal(bids.get("load"), load),
+                    cb.equal(bids.get("transporter").get("transporterId"), transporterId));
+
+            return cb.and(
+                    load.get("status").in(OpenLoadIndex.OPEN_STATUSES),
+                    cb.or(fits.toArray(Predicate[]::new)),
+                    cb.not(cb.exists(bid)));
+        };
+    }
+
+    /**
+     * Fetch loads by primary key, keeping the given order and skipping loads
+     * that closed between the index read and the fetch.
+     */
+    private List<Load> hydrate(List<UUID> loadIds) {
+        if (loadIds.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Load> loads = loadRepository.findAllById(loadIds).stream()
+                .collect(Collectors.toMap(Load::getLoadId, Function.identity()));
+
+        return loadIds.stream()
+                .map(loads::get)
+                .filter(Objects::nonNull)
+                .filter(Load::canAcceptBids)
+                .collect(Collectors.toList());
+    }
+
+    private LoadResponseDTO toResponse(Load load) {
+        return LoadResponseDTO.fromEntity(load, load.getRemainingTrucks(), load.getPendingBidCount());
+    }
+}
@@ -1,29 +1,43 @@
 package com.kshitizgaur.tms.service;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kshitizgaur.tms.cache.BidRanking;
+import com.kshitizgaur.tms.cache.BidRankingCache;
+import com.kshitizgaur.tms.cache.LoadDetailsCache;
 import com.kshitizgaur.tms.dto.request.LoadRequestDTO;
 import com.kshitizgaur.tms.dto.response.BestBidDTO;
+import com.kshitizgaur.tms.dto.response.BidRankDTO;
+import com.kshitizgaur.tms.dto.response.BidRejectionDTO;
 import com.kshitizgaur.tms.dto.response.BidResponseDTO;
+import com.kshitizgaur.tms.dto.response.CursorPageDTO;
 import com.kshitizgaur.tms.dto.response.LoadResponseDTO;
 import com.kshitizgaur.tms.dto.response.LoadWithBidsDTO;
-import com.kshitizgaur.tms.entity.Bid;
 import com.kshitizgaur.tms.entity.Load;
 import com.kshitizgaur.tms.entity.enums.BidStatus;
 import com.kshitizgaur.tms.entity.enums.LoadStatus;
+import com.kshitizgaur.tms.event.LoadChangeType;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
 import com.kshitizgaur.tms.exception.InvalidStatusTransitionException;
 import com.kshitizgaur.tms.exception.ResourceNotFoundException;
 import com.kshitizgaur.tms.repository.BidRepository;
-import com.kshitizgaur.tms.repository.BookingRepository;
 import com.kshitizgaur.tms.repository.LoadRepository;
+import com.kshitizgaur.tms.retry.RetryOnConflict;
+import com.kshitizgaur.tms.scoring.BidScorer;
+import com.kshitizgaur.tms.util.KeysetCursor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,9 +52,19 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional(readOnly = true)
 public class LoadService {
 
+    /**
+     * Upper bound for keyset page sizes.
+     */
+    public static final int MAX_SCROLL_SIZE = 100;
+
+    private static final Sort SCROLL_SORT = Sort.by(Sort.Direction.DESC, "datePosted", "loadId");
+
     private final LoadRepository loadRepository;
     private final BidRepository bidRepository;
-    private final BookingRepository bookingRepository;
+    private final LoadDetailsCache loadDetailsCache;
+    private final BidRankingCache bidRankingCache;
+    private final BidScorer bidScorer;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new load.
@@ -50,7 +74,20 @@ public class LoadService {
     public LoadResponseDTO createLoad(LoadRequestDTO request) {
         log.info("Creating load for shipper: {}", request.getShipperId());
 
-        Load load = Load.builder()
+        Load load = newLoad(request);
+
+        Load savedLoad = loadRepository.save(load);
+        log.info("Load created with ID: {}", savedLoad.getLoadId());
+        eventPublisher.publishEvent(LoadChangedEvent.of(savedLoad.getLoadId(), LoadChangeType.LOAD_CREATED));
+
+        return LoadResponseDTO.fromEntity(savedLoad, savedLoad.getNoOfTrucks(), 0);
+    }
+
+    /**
+     * Build a new POSTED load from a request.
+     */
+    static Load newLoad(LoadRequestDTO request) {
+        return Load.builder()
                 .shipperId(request.getShipperId())
                 .loadingCity(request.getLoadingCity())
                 .unloadingCity(request.getUnloadingCity())
@@ -62,11 +99,6 @@ public class LoadService {
                 .noOfTrucks(request.getNoOfTrucks())
                 .status(LoadStatus.POSTED)
                 .build();
-
-        Load savedLoad = loadRepository.save(load);
-        log.info("Load created with ID: {}", savedLoad.getLoadId());
-
-        return LoadResponseDTO.fromEntity(savedLoad, savedLoad.getNoOfTrucks(), 0);
     }
 
     /**
@@ -85,23 +117,49 @@ public class LoadService {
             loads = loadRepository.findAll(pageable);
         }
 
-        return loads.map(load -> {
-            int allocated = bookingRepository.sumAllocatedTrucksByLoadId(load.getLoadId());
-            int remaining = load.getNoOfTrucks() - allocated;
-            int activeBids = bidRepository.countPendingBidsByLoadId(load.getLoadId());
-            return LoadResponseDTO.fromEntity(load, remaining, activeBids);
-        });
+        return loads.map(this::toResponse);
+    }
+
+    /**
+     * Scroll loads with optional filters using keyset pagination on
+     * (datePosted, loadId). Skips the COUNT(*) query and reads in constant time
+     * at any depth.
+     */
+    public CursorPageDTO<LoadResponseDTO> scrollLoads(String shipperId, LoadStatus status, String cursor, int size) {
+        ScrollPosition position = KeysetCursor.decode(cursor, "datePosted", "loadId");
+        Limit limit = Limit.of(Math.max(1, Math.min(size, MAX_SCROLL_SIZE)));
+        Window<Load> loads;
+
+        if (shipperId != null && status != null) {
+            loads = loadRepository.findByShipperIdAndStatus(shipperId, status, position, limit, SCROLL_SORT);
+        } else if (shipperId != null) {
+            loads = loadRepository.findByShipperId(shipperId, position, limit, SCROLL_SORT);
+        } else if (status != null) {
+            loads = loadRepository.findByStatus(status, position, limit, SCROLL_SORT);
+        } else {
+            loads = loadRepository.findAllBy(position, limit, SCROLL_SORT);
+        }
+
+        return CursorPageDTO.fromWindow(loads,
+                this::toResponse,
+                load -> KeysetCursor.encode(load.getDatePosted(), load.getLoadId()));
     }
 
     /**
      * Get load by ID with active bids.
+     * Served from the load details cache; a miss runs the fetch-join query in
+     * the repository's read-only transaction, so cache hits never open one.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public LoadWithBidsDTO getLoadById(UUID loadId) {
+        return loadDetailsCache.get(loadId, this::loadLoadWithBids);
+    }
+
+    private LoadWithBidsDTO loadLoadWithBids(UUID loadId) {
         Load load = loadRepository.findByIdWithBids(loadId)
                 .orElseThrow(() -> new ResourceNotFoundException("Load", "loadId", loadId));
 
-        int allocated = bookingRepository.sumAllocatedTrucksByLoadId(loadId);
-        int remaining = load.getNoOfTrucks() - allocated;
+        int remaining = load.getRemainingTrucks();
 
         List<BidResponseDTO> activeBids = load.getBids().stream()
                 .filter(bid -> bid.getStatus() == BidStatus.PENDING)
@@ -121,6 +179,7 @@ public class LoadService {
      * Cancel a load.
      * Rule 2: Cannot cancel load that's already BOOKED.
      */
+    @RetryOnConflict
     @Transactional
     public LoadResponseDTO cancelLoad(UUID loadId) {
         Load load = loadRepository.findById(loadId)
@@ -133,48 +192,107 @@ public class LoadService {
         log.info("Cancelling load: {} (current status: {})", loadId, load.getStatus());
         load.setStatus(LoadStatus.CANCELLED);
 
-        // Reject all pending bids
-        load.getBids().stream()
-                .filter(bid -> bid.getStatus() == BidStatus.PENDING)
-                .forEach(bid -> bid.setStatus(BidStatus.REJECTED));
-
         Load savedLoad = loadRepository.save(load);
-        log.info("Load cancelled: {}", loadId);
+
+        // Reject all pending bids
+        int rejected = rejectPendingBids(loadId);
+        log.info("Load cancelled: {} ({} pending bids rejected)", loadId, rejected);
+        eventPublisher.publishEvent(LoadChangedEvent.of(loadId, LoadChangeType.LOAD_CANCELLED));
 
         return LoadResponseDTO.fromEntity(savedLoad);
     }
 
+    /**
+     * Reject every pending bid of a load, keeping the load open for new bids.
+     * Rule 2: Only loads that accept bids can have their bids rejected.
+     */
+    @Transactional
+    public BidRejectionDTO rejectAllPendingBids(UUID loadId) {
+        Load load = findById(loadId);
+        if (load.getStatus() != LoadStatus.POSTED && load.getStatus() != LoadStatus.OPEN_FOR_BIDS) {
+            throw new InvalidStatusTransitionException("Load", load.getStatus().name(), "reject bids of");
+        }
+
+        int rejected = rejectPendingBids(loadId);
+        log.info("Rejected {} pending bids of load {}", rejected, loadId);
+        if (rejected > 0) {
+            eventPublisher.publishEvent(LoadChangedEvent.of(loadId, LoadChangeType.BIDS_REJECTED));
+        }
+
+        return BidRejectionDTO.builder()
+                .loadId(loadId)
+                .rejectedBids(rejected)
+                .build();
+    }
+
     /**
      * Get best bids for a load, sorted by score.
-     * Rule 5: score = (1 / proposedRate) * 0.7 + (rating / 5) * 0.3
+     * Rule 5: weighted rate and rating score from the configured {@link BidScorer}.
      */
     public List<BestBidDTO> getBestBids(UUID loadId) {
+        return getBestBids(loadId, null);
+    }
+
+    /**
+     * Get the top {@code limit} bids for a load (all bids when limit is null).
+     * Reads the incrementally maintained ranking; only a miss queries the bids.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<BestBidDTO> getBestBids(UUID loadId, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return bidRankingCache.get(loadId, this::loadBidRanking).top(limit);
+    }
+
+    /**
+     * Get the top {@code limit} bids under custom weights (a null weight keeps
+     * the configured one). The load's cached bids are re-scored in one batch
+     * for this request; the shared ranking is not changed.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<BestBidDTO> getBestBids(UUID loadId, Integer limit, Double rateWeight, Double ratingWeight) {
+        if (rateWeight == null && ratingWeight == null) {
+            return getBestBids(loadId, limit);
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        BidScorer scorer = bidScorer.withWeights(rateWeight, ratingWeight);
+        return bidRankingCache.get(loadId, this::loadBidRanking).top(limit, scorer);
+    }
+
+    /**
+     * Get the rank of a pending bid within its load.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BidRankDTO getBidRank(UUID loadId, UUID bidId) {
+        return bidRankingCache.get(loadId, this::loadBidRanking).rankOf(bidId)
+                .orElseThrow(() -> new ResourceNotFoundException("Pending bid", "bidId", bidId));
+    }
+
+    private BidRanking loadBidRanking(UUID loadId) {
         // Verify load exists
         if (!loadRepository.existsById(loadId)) {
             throw new ResourceNotFoundException("Load", "loadId", loadId);
         }
 
-        List<Bid> pendingBids = bidRepository.findPendingBidsByLoadId(loadId);
-
-        return pendingBids.stream()
+        return BidRanking.of(bidRepository.findPendingBidsByLoadId(loadId).stream()
                 .map(BestBidDTO::fromEntity)
-                .sorted(Comparator.comparingDouble(BestBidDTO::getScore).reversed())
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), bidScorer);
     }
 
     /**
-     * Transition load status to OPEN_FOR_BIDS.
-     * Called when first bid is received.
+     * Count a new bid against a load, transitioning it to OPEN_FOR_BIDS if
+     * this is the first bid. Done as one conditional UPDATE, so a load that
+     * was cancelled or booked after validation is not touched.
+     *
+     * @throws InvalidStatusTransitionException if the load no longer accepts bids
      */
     @Transactional
-    public void transitionToOpenForBids(UUID loadId) {
-        Load load = loadRepository.findById(loadId)
-                .orElseThrow(() -> new ResourceNotFoundException("Load", "loadId", loadId));
-
-        if (load.getStatus() == LoadStatus.POSTED) {
-            log.info("Transitioning load {} to OPEN_FOR_BIDS", loadId);
-            load.setStatus(LoadStatus.OPEN_FOR_BIDS);
-            loadRepository.save(load);
+    public void registerBid(UUID loadId) {
+        if (loadRepository.registerBids(loadId, 1) == 0) {
+            throw new InvalidStatusTransitionException("Load " + loadId + " is no longer open for bids");
         }
     }
 
@@ -187,19 +305,18 @@ public class LoadService {
         Load load = loadRepository.findById(loadId)
                 .orElseThrow(() -> new ResourceNotFoundException("Load", "loadId", loadId));
 
-        int allocated = bookingRepository.sumAllocatedTrucksByLoadId(loadId);
-        int remaining = load.getNoOfTrucks() - allocated;
+        int remaining = getRemainingTrucks(loadId);
 
         if (remaining == 0 && load.getStatus() == LoadStatus.OPEN_FOR_BIDS) {
             log.info("Load {} fully allocated, transitioning to BOOKED", loadId);
             load.setStatus(LoadStatus.BOOKED);
 
-            // Reject remaining pending bids
-            load.getBids().stream()
-                    .filter(bid -> bid.getStatus() == BidStatus.PENDING)
-                    .forEach(bid -> bid.setStatus(BidStatus.REJECTED));
-
             loadRepository.save(load);
+
+            // Reject remaining pending bids
+            int rejected = rejectPendingBids(loadId);
+            log.info("Load {} booked ({} pending bids rejected)", loadId, rejected);
+            eventPublisher.publishEvent(LoadChangedEvent.of(loadId, LoadChangeType.LOAD_BOOKED));
         }
     }
 
@@ -212,8 +329,7 @@ public class LoadService {
         Load load = loadRepository.findById(loadId)
                 .orElseThrow(() -> new ResourceNotFoundException("Load", "loadId", loadId));
 
-        int allocated = bookingRepository.sumAllocatedTrucksByLoadId(loadId);
-        int remaining = load.getNoOfTrucks() - allocated;
+        int remaining = getRemainingTrucks(loadId);
 
         if (remaining > 0 && load.getStatus() == LoadStatus.BOOKED) {
             log.info("Load {} has remaining trucks, reverting to OPEN_FOR_BIDS", loadId);
@@ -224,13 +340,70 @@ public class LoadService {
 
     /**
      * Get remaining trucks for a load.
+     * Reads the allocation counter, so it is a single-column lookup.
      */
     public int getRemainingTrucks(UUID loadId) {
-        Load load = loadRepository.findById(loadId)
+        return loadRepository.findRemainingTrucks(loadId)
                 .orElseThrow(() -> new ResourceNotFoundException("Load", "loadId", loadId));
+    }
 
-        int allocated = bookingRepository.sumAllocatedTrucksByLoadId(loadId);
-        return load.getNoOfTrucks() - allocated;
+    /**
+     * Adjust the pending bid counter of a load.
+     * Called in the same transaction as the bid status change.
+     */
+    @Transactional
+    public void adjustPendingBidCount(UUID loadId, int delta) {
+        loadRepository.adjustPendingBidCount(loadId, delta);
+    }
+
+    /**
+     * Adjust the allocated trucks counter of a load.
+     * Called in the same transaction as the booking change.
+     */
+    @Transactional
+    public void adjustAllocatedTrucks(UUID loadId, int delta) {
+        loadRepository.adjustAllocatedTrucks(loadId, delta);
+    }
+
+    /**
+     * Rebuild the allocation and pending bid counters from the bookings and bids
+     * tables.
+     *
+     * @return number of loads whose counters had drifted and were corrected
+     */
+    @Transactional
+    public int rebuildCounters() {
+        int corrected = loadRepository.rebuildCounters();
+        if (corrected > 0) {
+            log.warn("Rebuilt drifted counters for {} loads", corrected);
+            loadDetailsCache.invalidateAllAfterCommit();
+        }
+        return corrected;
+    }
+
+    private LoadResponseDTO toResponse(Load load) {
+        return LoadResponseDTO.fromEntity(load, load.getRemainingTrucks(), load.getPendingBidCount());
+    }
+
+    /**
+     * Mark all PENDING bids of a load as REJECTED with one UPDATE and take
+     * them off the pending bid counter.
+     *
+     * @return number of bids rejected
+     */
+    private int rejectPendingBids(UUID loadId) {
+        int rejected = bidRepository.rejectPendingBids(loadId);
+        if (rejected > 0) {
+            loadRepository.adjustPendingBidCount(loadId, -rejected);
+        }
+        return rejected;
+    }
+
+    /**
+     * Reference to a load by ID without loading it, for use as an association.
+     */
+    public Load getReference(UUID loadId) {
+        return loadRepository.getReferenceById(loadId);
     }
 
     /**
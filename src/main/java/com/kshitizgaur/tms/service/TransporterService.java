@@ -11,7 +11,6 @@ import com.kshitizgaur.tms.dto.response.TransporterResponseDTO;
 import com.kshitizgaur.tms.entity.AvailableTruck;
 import com.kshitizgaur.tms.entity.Transporter;
 import com.kshitizgaur.tms.exception.ResourceNotFoundException;
-import com.kshitizgaur.tms.repository.AvailableTruckRepository;
 import com.kshitizgaur.tms.repository.TransporterRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -27,7 +26,6 @@ import lombok.extern.slf4j.Slf4j;
 public class TransporterService {
 
     private final TransporterRepository transporterRepository;
-    private final AvailableTruckRepository availableTruckRepository;
 
     /**
      * Register a new transporter with truck capacity.
@@ -111,19 +109,17 @@ public class TransporterService {
     }
 
     /**
-     * Get available truck count for a specific truck type.
+     * Reference to a transporter by ID without loading it, for use as an association.
      */
-    public int getAvailableTruckCount(UUID transporterId, String truckType) {
-        Transporter transporter = findById(transporterId);
-        return transporter.getAvailableTruckCount(truckType);
+    public Transporter getReference(UUID transporterId) {
+        return transporterRepository.getReferenceById(transporterId);
     }
 
     /**
-     * Find available truck by transporter and type.
+     * Get available truck count for a specific truck type.
      */
-    public AvailableTruck findAvailableTruck(UUID transporterId, String truckType) {
-        return availableTruckRepository.findByTransporterTransporterIdAndTruckType(transporterId, truckType)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "AvailableTruck", "truckType", truckType + " for transporter " + transporterId));
+    public int getAvailableTruckCount(UUID transporterId, String truckType) {
+        Transporter transporter = findById(transporterId);
+        return transporter.getAvailableTruckCount(truckType);
     }
 }
@@ -0,0 +1,39 @@
+package com.kshitizgaur.tms.util;
+
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bean validation of single items of a bulk request, reported as one
+ * message per item instead of failing the whole request.
+ */
+public final class BulkItemValidation {
+
+    private BulkItemValidation() {
+    }
+
+    /**
+     * Validate an item against its constraints.
+     *
+     * @param missingMessage error reported for a null item
+     * @return null if the item is valid, otherwise its violations as
+     *         "property: message" sorted by property and joined with "; "
+     */
+    public static <T> String validate(Validator validator, T item, String missingMessage) {
+        if (item == null) {
+            return missingMessage;
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,80 @@
+package com.kshitizgaur.tms.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Opaque cursor for keyset pagination over a (timestamp, id) sort key.
+ * The cursor is the URL-safe Base64 encoding of "timestamp|id" so clients
+ * cannot depend on its structure.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Decoded sort key of a cursor.
+     */
+    public record Key(LocalDateTime timestamp, UUID id) {
+    }
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encode the sort key of the last row on a page.
+     */
+    public static String encode(LocalDateTime timestamp, UUID id) {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into a scroll position keyed by the given properties.
+     * A null or blank cursor starts from the first row.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static ScrollPosition decode(String cursor, String timestampProperty, String idProperty) {
+        Key key = decodeKey(cursor);
+        if (key == null) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(timestampProperty, key.timestamp());
+        keys.put(idProperty, key.id());
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Decode a cursor into its raw sort key, for paging over in-memory data.
+     * Returns null for a null or blank cursor.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Key decodeKey(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+
+            return new Key(LocalDateTime.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
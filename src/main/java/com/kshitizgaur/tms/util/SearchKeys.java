@@ -0,0 +1,24 @@
+package com.kshitizgaur.tms.util;
+
+import java.util.Locale;
+
+/**
+ * Normalization of free-text search fields (cities, truck types) into
+ * case-folded keys, so "New  Delhi", "new delhi" and " NEW DELHI" match.
+ */
+public final class SearchKeys {
+
+    private SearchKeys() {
+    }
+
+    /**
+     * Trim, collapse internal whitespace and lower-case a value.
+     * Returns null for null or blank input.
+     */
+    public static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
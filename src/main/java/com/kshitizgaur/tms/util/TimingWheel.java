@@ -0,0 +1,168 @@
+package com.kshitizgaur.tms.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for deadlines in epoch milliseconds.
+ *
+ * Level 0 has {@code wheelSize} buckets of {@code tickMillis} each; every
+ * higher level has the same number of buckets, each as wide as the whole
+ * level below. An entry is stored in the lowest level whose span covers its
+ * deadline, and is moved down a level when the clock reaches the start of
+ * its bucket, so adding an entry and advancing one tick are O(levels) plus
+ * the entries that actually move or fire, independent of how many entries
+ * are waiting. Levels are added on demand for far deadlines.
+ *
+ * Entries never fire before their deadline; they fire on the first tick at
+ * or after it. Not thread-safe: callers serialize access.
+ */
+public final class TimingWheel<T> {
+
+    private record Entry<T>(T item, long deadline) {
+    }
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    /**
+     * @param tickMillis  width of a level-0 bucket
+     * @param wheelSize   buckets per level
+     * @param startMillis clock start; rounded down to a tick
+     */
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size at least 2");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        levels.add(new Level<>(tickMillis, wheelSize));
+    }
+
+    /**
+     * Schedule an item.
+     *
+     * @return false (and nothing is stored) if the deadline has already been
+     *         reached by the wheel's clock; the caller should fire it now
+     */
+    public boolean add(T item, long deadlineMillis) {
+        if (deadlineMillis <= currentTime) {
+            return false;
+        }
+        insert(new Entry<>(item, deadlineMillis));
+        size++;
+        return true;
+    }
+
+    /**
+     * Advance the clock tick by tick up to {@code nowMillis}, passing every
+     * entry whose deadline has been reached to {@code due}.
+     *
+     * @return number of entries fired
+     */
+    public int advanceTo(long nowMillis, Consumer<T> due) {
+        int fired = 0;
+        while (currentTime + tickMillis <= nowMillis) {
+            currentTime += tickMillis;
+
+            ArrayDeque<Entry<T>> bucket = levels.get(0).bucketFor(currentTime);
+            for (Entry<T> entry; (entry = bucket.poll()) != null;) {
+                due.accept(entry.item());
+                size--;
+                fired++;
+            }
+
+            // Move entries whose bucket starts now down a level. Highest level
+            // first so they can cascade through several levels in the same tick;
+            // none of them is due yet, and level 0 was drained above so a moved
+            // entry landing in its current slot waits a full revolution.
+            for (int k = levels.size() - 1; k >= 1; k--) {
+                Level<T> level = levels.get(k);
+                if (currentTime % level.tickMillis == 0) {
+                    ArrayDeque<Entry<T>> moving = level.bucketFor(currentTime);
+                    List<Entry<T>> moved = new ArrayList<>(moving);
+                    moving.clear();
+                    moved.forEach(this::insert);
+                }
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Number of scheduled entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Current clock of the wheel (the last tick reached).
+     */
+    public long currentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Place an entry with a deadline after the current time.
+     *
+     * Level 0 keys an entry by the end of its tick, so it fires once that
+     * time is reached. Higher levels key it by the start of their bucket,
+     * which is after the current time because the deadline lies beyond the
+     * span of the level below.
+     */
+    private void insert(Entry<T> entry) {
+        long delay = entry.deadline() - currentTime;
+        if (delay <= tickMillis * (long) wheelSize) {
+            long end = ceil(entry.deadline(), tickMillis);
+            levels.get(0).bucketFor(end).add(entry);
+            return;
+        }
+
+        int k = 1;
+        while (k == levels.size() || delay > levels.get(k).span()) {
+            if (k == levels.size()) {
+                long tick = Math.multiplyExact(levels.get(k - 1).tickMillis, (long) wheelSize);
+                levels.add(new Level<>(tick, wheelSize));
+            } else {
+                k++;
+            }
+        }
+        Level<T> level = levels.get(k);
+        long start = ceil(entry.deadline(), level.tickMillis) - level.tickMillis;
+        level.bucketFor(start).add(entry);
+    }
+
+    private static long ceil(long value, long unit) {
+        return Math.floorDiv(value + unit - 1, unit) * unit;
+    }
+
+    private static final class Level<T> {
+
+        private final long tickMillis;
+        private final ArrayDeque<Entry<T>>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tickMillis, int wheelSize) {
+            this.tickMillis = tickMillis;
+            this.buckets = new ArrayDeque[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+        }
+
+        private long span() {
+            return Math.multiplyExact(tickMillis, (long) buckets.length);
+        }
+
+        private ArrayDeque<Entry<T>> bucketFor(long time) {
+            return buckets[(int) Math.floorMod(Math.floorDiv(time, tickMillis), (long) buckets.length)];
+        }
+    }
+}
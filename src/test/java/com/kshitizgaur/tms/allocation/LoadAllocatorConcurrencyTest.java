@@ -0,0 +1,179 @@
+package com.kshitizgaur.tms.allocation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.kshitizgaur.tms.dto.request.BidRequestDTO;
+import com.kshitizgaur.tms.dto.request.BookingRequestDTO;
+import com.kshitizgaur.tms.dto.request.LoadRequestDTO;
+import com.kshitizgaur.tms.dto.request.TransporterRequestDTO;
+import com.kshitizgaur.tms.entity.enums.WeightUnit;
+import com.kshitizgaur.tms.service.BidService;
+import com.kshitizgaur.tms.service.BookingService;
+import com.kshitizgaur.tms.service.LoadService;
+import com.kshitizgaur.tms.service.TransporterService;
+
+/**
+ * Races bookings for different bids of one load under each allocation
+ * strategy and checks the load never ends up with more trucks allocated
+ * than it needs. Bookings go straight to BookingService so the auction
+ * engine does not serialize them.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class LoadAllocatorConcurrencyTest {
+
+    private static final int TRUCKS_NEEDED = 5;
+    private static final int BIDDERS = 8;
+
+    @Nested
+    @TestPropertySource(properties = "tms.booking.allocation-strategy=OPTIMISTIC")
+    class Optimistic extends Contention {
+
+        @Test
+        @DisplayName("OPTIMISTIC: racing bookings conflict instead of over-allocating")
+        void shouldNotOverAllocate() throws Exception {
+            int allocated = raceBookings(AllocationStrategy.OPTIMISTIC);
+            assertTrue(allocated >= 1 && allocated <= TRUCKS_NEEDED, "allocated " + allocated);
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "tms.booking.allocation-strategy=PESSIMISTIC")
+    class Pessimistic extends Contention {
+
+        @Test
+        @DisplayName("PESSIMISTIC: bookings queue on the load row and fill it exactly")
+        void shouldFillLoadExactly() throws Exception {
+            assertEquals(TRUCKS_NEEDED, raceBookings(AllocationStrategy.PESSIMISTIC));
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "tms.booking.allocation-strategy=STRIPED")
+    class Striped extends Contention {
+
+        @Test
+        @DisplayName("STRIPED: bookings queue on the load's stripe and fill it exactly")
+        void shouldFillLoadExactly() throws Exception {
+            assertEquals(TRUCKS_NEEDED, raceBookings(AllocationStrategy.STRIPED));
+        }
+    }
+
+    abstract static class Contention {
+
+        @Autowired
+        private LoadAllocator loadAllocator;
+
+        @Autowired
+        private LoadService loadService;
+
+        @Autowired
+        private TransporterService transporterService;
+
+        @Autowired
+        private BidService bidService;
+
+        @Autowired
+        private BookingService bookingService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        /**
+         * Books one single-truck bid per bidder at the same moment against a
+         * load that needs fewer trucks than there are bidders.
+         *
+         * @return trucks allocated to the load once every booking has finished
+         */
+        int raceBookings(AllocationStrategy expected) throws Exception {
+            assertEquals(expected, loadAllocator.getStrategy());
+
+            UUID loadId = loadService.createLoad(LoadRequestDTO.builder()
+                    .shipperId("SHIPPER-" + expected)
+                    .loadingCity("Mumbai")
+                    .unloadingCity("Delhi")
+                    .loadingDate(LocalDateTime.now().plusDays(5))
+                    .productType("Electronics")
+                    .weight(5000.0)
+                    .weightUnit(WeightUnit.KG)
+                    .truckType("TRAILER")
+                    .noOfTrucks(TRUCKS_NEEDED)
+                    .build()).getLoadId();
+
+            List<UUID> bidIds = new ArrayList<>();
+            for (int i = 0; i < BIDDERS; i++) {
+                UUID transporterId = transporterService.registerTransporter(TransporterRequestDTO.builder()
+                        .companyName("Transporter " + i)
+                        .rating(4.0)
+                        .availableTrucks(List.of(TransporterRequestDTO.TruckCapacityDTO.builder()
+                                .truckType("TRAILER")
+                                .count(2)
+                                .build()))
+                        .build()).getTransporterId();
+                bidIds.add(bidService.submitBid(BidRequestDTO.builder()
+                        .loadId(loadId)
+                        .transporterId(transporterId)
+                        .proposedRate(40000.0 + i * 1000)
+                        .trucksOffered(1)
+                        .build()).getBidId());
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(BIDDERS);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            try {
+                for (UUID bidId : bidIds) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return bookingService.createBooking(BookingRequestDTO.builder().bidId(bidId).build());
+                    }));
+                }
+                start.countDown();
+
+                int succeeded = 0;
+                for (Future<?> result : results) {
+                    try {
+                        result.get(30, TimeUnit.SECONDS);
+                        succeeded++;
+                    } catch (ExecutionException e) {
+                        // Lost the race: the load was full or the booking kept conflicting
+                    }
+                }
+
+                Integer allocated = jdbcTemplate.queryForObject(
+                        "SELECT allocated_trucks FROM loads WHERE load_id = ?", Integer.class, loadId);
+                Integer booked = jdbcTemplate.queryForObject(
+                        "SELECT COALESCE(SUM(allocated_trucks), 0) FROM bookings WHERE load_id = ? AND status = 'CONFIRMED'",
+                        Integer.class, loadId);
+                assertEquals(succeeded, booked);
+                assertEquals(booked, allocated);
+                assertTrue(allocated <= TRUCKS_NEEDED, "over-allocated: " + allocated);
+                return allocated;
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
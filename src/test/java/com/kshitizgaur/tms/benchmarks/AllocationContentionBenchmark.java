@@ -0,0 +1,178 @@
+package com.kshitizgaur.tms.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.kshitizgaur.tms.TmsApplication;
+import com.kshitizgaur.tms.dto.request.BidRequestDTO;
+import com.kshitizgaur.tms.dto.request.BookingRequestDTO;
+import com.kshitizgaur.tms.dto.request.LoadRequestDTO;
+import com.kshitizgaur.tms.dto.request.TransporterRequestDTO;
+import com.kshitizgaur.tms.entity.enums.WeightUnit;
+import com.kshitizgaur.tms.service.BidService;
+import com.kshitizgaur.tms.service.BookingService;
+import com.kshitizgaur.tms.service.LoadService;
+import com.kshitizgaur.tms.service.TransporterService;
+
+/**
+ * BookingService.createBooking from {@link #THREADS} threads at once, all
+ * booking bids on the same {@code hotLoads} loads, under each
+ * {@code tms.booking.allocation-strategy}.
+ *
+ * Before every iteration the hot loads are created with exactly as many
+ * trucks as there are pending one-truck bids for them, and the bids are
+ * queued round-robin across the loads. Each thread books
+ * {@link #BATCH} bids from the shared queue, so an iteration is the time
+ * to book {@code THREADS * BATCH} bids. Bookings that still conflict after
+ * the retries are counted and printed rather than failing the run.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = AllocationContentionBenchmark.BATCH)
+@Measurement(iterations = 5, batchSize = AllocationContentionBenchmark.BATCH)
+@Threads(AllocationContentionBenchmark.THREADS)
+@Fork(1)
+public class AllocationContentionBenchmark {
+
+    static final int BATCH = 250;
+    static final int THREADS = 4;
+    private static final int BIDS_PER_ITERATION = BATCH * THREADS;
+    private static final String TRUCK_TYPE = "Container";
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        @Param({ "OPTIMISTIC", "PESSIMISTIC", "STRIPED" })
+        public String strategy;
+
+        @Param({ "1", "8" })
+        public int hotLoads;
+
+        ConfigurableApplicationContext context;
+        LoadService loadService;
+        BidService bidService;
+        BookingService bookingService;
+
+        final List<UUID> transporterIds = new ArrayList<>();
+        final Queue<UUID> pendingBids = new ConcurrentLinkedQueue<>();
+        final AtomicInteger failed = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(TmsApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .bannerMode(Banner.Mode.OFF)
+                    .run("--spring.datasource.url=jdbc:h2:mem:tms_contention;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                            "--spring.jpa.show-sql=false",
+                            "--logging.level.root=WARN",
+                            "--logging.level.com.kshitizgaur.tms=WARN",
+                            // Lost optimistic races are expected here and counted below
+                            "--logging.level.org.hibernate.orm.jdbc.batch=OFF",
+                            "--logging.level.com.kshitizgaur.tms.retry=ERROR",
+                            // Bookings must race in the services, not queue on the engine's stripes
+                            "--tms.auction.engine.enabled=false",
+                            "--tms.booking.allocation-strategy=" + strategy);
+            loadService = context.getBean(LoadService.class);
+            bidService = context.getBean(BidService.class);
+            bookingService = context.getBean(BookingService.class);
+
+            // One bid per (load, transporter): a single hot load needs a transporter per bid
+            TransporterService transporterService = context.getBean(TransporterService.class);
+            for (int i = 0; i < BIDS_PER_ITERATION; i++) {
+                transporterIds.add(transporterService.registerTransporter(TransporterRequestDTO.builder()
+                        .companyName("Contention Transporter " + i)
+                        .rating(1.0 + i % 41 / 10.0)
+                        .availableTrucks(List.of(new TransporterRequestDTO.TruckCapacityDTO(TRUCK_TYPE, 1_000_000)))
+                        .build()).getTransporterId());
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void fill() {
+            pendingBids.clear();
+            failed.set(0);
+            int trucksPerLoad = BIDS_PER_ITERATION / hotLoads;
+            List<List<UUID>> bidsByLoad = new ArrayList<>();
+            for (int l = 0; l < hotLoads; l++) {
+                UUID loadId = createLoad(trucksPerLoad);
+                List<UUID> bids = new ArrayList<>(trucksPerLoad);
+                for (int t = 0; t < trucksPerLoad; t++) {
+                    bids.add(bidService.submitBid(BidRequestDTO.builder()
+                            .loadId(loadId)
+                            .transporterId(transporterIds.get(t))
+                            .proposedRate(40000.0 + t)
+                            .trucksOffered(1)
+                            .build()).getBidId());
+                }
+                bidsByLoad.add(bids);
+            }
+            for (int t = 0; t < trucksPerLoad; t++) {
+                for (List<UUID> bids : bidsByLoad) {
+                    pendingBids.add(bids.get(t));
+                }
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void report() {
+            if (failed.get() > 0) {
+                System.out.println(strategy + ": " + failed.get() + " of " + BIDS_PER_ITERATION
+                        + " bookings failed after retries");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+        UUID createLoad(int trucks) {
+            return loadService.createLoad(LoadRequestDTO.builder()
+                    .shipperId("SHIPPER-HOT")
+                    .loadingCity("Delhi")
+                    .unloadingCity("Mumbai")
+                    .loadingDate(LocalDateTime.now().plusDays(7))
+                    .productType("Electronics")
+                    .weight(12000.0)
+                    .weightUnit(WeightUnit.KG)
+                    .truckType(TRUCK_TYPE)
+                    .noOfTrucks(trucks)
+                    .build()).getLoadId();
+        }
+    }
+
+    @Benchmark
+    public Object createBooking(Database db) {
+        try {
+            return db.bookingService.createBooking(new BookingRequestDTO(db.pendingBids.remove(), 1));
+        } catch (RuntimeException e) {
+            db.failed.incrementAndGet();
+            return e;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.kshitizgaur.tms.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kshitizgaur.tms.dto.response.BidResponseDTO;
+import com.kshitizgaur.tms.dto.response.LoadResponseDTO;
+import com.kshitizgaur.tms.entity.Bid;
+import com.kshitizgaur.tms.entity.Load;
+
+/**
+ * Entity to response DTO mappers, per entity and for a page of 100.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private Load load;
+    private Bid bid;
+    private List<Load> loads;
+    private List<Bid> bids;
+
+    @Setup
+    public void setUp() {
+        Random random = Fixtures.random();
+        loads = random.ints(PAGE_SIZE).mapToObj(i -> Fixtures.load(random)).collect(Collectors.toList());
+        bids = Fixtures.bids(random, loads.get(0), PAGE_SIZE);
+        load = loads.get(0);
+        bid = bids.get(0);
+    }
+
+    @Benchmark
+    public LoadResponseDTO loadFromEntity() {
+        return LoadResponseDTO.fromEntity(load);
+    }
+
+    @Benchmark
+    public LoadResponseDTO loadFromEntityWithCounts() {
+        return LoadResponseDTO.fromEntity(load, load.getNoOfTrucks(), 3);
+    }
+
+    @Benchmark
+    public BidResponseDTO bidFromEntity() {
+        return BidResponseDTO.fromEntity(bid);
+    }
+
+    @Benchmark
+    public List<LoadResponseDTO> loadPage() {
+        return loads.stream().map(LoadResponseDTO::fromEntity).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BidResponseDTO> bidPage() {
+        return bids.stream().map(BidResponseDTO::fromEntity).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,88 @@
+package com.kshitizgaur.tms.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import com.kshitizgaur.tms.entity.AvailableTruck;
+import com.kshitizgaur.tms.entity.Bid;
+import com.kshitizgaur.tms.entity.Load;
+import com.kshitizgaur.tms.entity.Transporter;
+import com.kshitizgaur.tms.entity.enums.LoadStatus;
+import com.kshitizgaur.tms.entity.enums.WeightUnit;
+
+/**
+ * Detached entities for the in-memory benchmarks, generated from a fixed seed
+ * so every run measures the same data.
+ */
+final class Fixtures {
+
+    static final String[] TRUCK_TYPES = {
+            "Container", "Flatbed", "Trailer", "Tanker", "Refrigerated", "Tipper", "Open Body", "Car Carrier" };
+
+    private static final String[] CITIES = {
+            "Delhi", "Mumbai", "Bangalore", "Chennai", "Kolkata", "Hyderabad", "Pune", "Ahmedabad" };
+
+    private Fixtures() {
+    }
+
+    static Random random() {
+        return new Random(42);
+    }
+
+    static Load load(Random random) {
+        return Load.builder()
+                .loadId(UUID.randomUUID())
+                .shipperId("SHIPPER-" + random.nextInt(1000))
+                .loadingCity(CITIES[random.nextInt(CITIES.length)])
+                .unloadingCity(CITIES[random.nextInt(CITIES.length)])
+                .loadingDate(LocalDateTime.now().plusDays(1 + random.nextInt(30)))
+                .productType("Electronics")
+                .weight(1000.0 + random.nextInt(20000))
+                .weightUnit(WeightUnit.KG)
+                .truckType(TRUCK_TYPES[random.nextInt(TRUCK_TYPES.length)])
+                .noOfTrucks(1 + random.nextInt(20))
+                .status(LoadStatus.OPEN_FOR_BIDS)
+                .build();
+    }
+
+    /**
+     * A transporter with {@code truckTypes} available-truck rows.
+     */
+    static Transporter transporter(Random random, int truckTypes) {
+        Transporter transporter = Transporter.builder()
+                .transporterId(UUID.randomUUID())
+                .companyName("Transporter " + random.nextInt(100000))
+                .rating(1.0 + random.nextInt(41) / 10.0)
+                .build();
+        for (int i = 0; i < truckTypes; i++) {
+            String type = i < TRUCK_TYPES.length ? TRUCK_TYPES[i] : "Type-" + i;
+            transporter.addAvailableTruck(AvailableTruck.builder()
+                    .id(UUID.randomUUID())
+                    .truckType(type)
+                    .count(random.nextInt(50))
+                    .build());
+        }
+        return transporter;
+    }
+
+    /**
+     * {@code count} pending bids on one load from distinct transporters, with
+     * rates spread around 50,000 per truck.
+     */
+    static List<Bid> bids(Random random, Load load, int count) {
+        List<Bid> bids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bids.add(Bid.builder()
+                    .bidId(UUID.randomUUID())
+                    .load(load)
+                    .transporter(transporter(random, 1))
+                    .proposedRate(40000.0 + random.nextInt(20000))
+                    .trucksOffered(1 + random.nextInt(load.getNoOfTrucks()))
+                    .build());
+        }
+        return bids;
+    }
+}
@@ -0,0 +1,99 @@
+package com.kshitizgaur.tms.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kshitizgaur.tms.cache.BidRanking;
+import com.kshitizgaur.tms.dto.response.BestBidDTO;
+import com.kshitizgaur.tms.entity.Bid;
+import com.kshitizgaur.tms.entity.Load;
+import com.kshitizgaur.tms.scoring.BidScorer;
+import com.kshitizgaur.tms.scoring.RateNormalization;
+import com.kshitizgaur.tms.scoring.WeightedBidScorer;
+
+/**
+ * Rule 5 best-bid path: mapping pending bids with BestBidDTO.fromEntity,
+ * scoring and sorting them, and the incremental ranking updates made when a
+ * bid is submitted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoringBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int bids;
+
+    private final BidScorer scorer = new WeightedBidScorer(0.7, 0.3, RateNormalization.LOWEST_RATE, 10000);
+
+    private List<Bid> entities;
+    private BidRanking ranking;
+    private BestBidDTO midBid;
+    private double[] rates;
+    private double[] ratings;
+
+    @Setup
+    public void setUp() {
+        Random random = Fixtures.random();
+        Load load = Fixtures.load(random);
+        entities = Fixtures.bids(random, load, bids);
+
+        List<BestBidDTO> dtos = entities.stream().map(BestBidDTO::fromEntity).collect(Collectors.toList());
+        ranking = BidRanking.of(dtos, scorer);
+        // Above the lowest rate, so adding it re-scores only this bid
+        midBid = BestBidDTO.fromEntity(Fixtures.bids(random, load, 1).get(0));
+        midBid.setProposedRate(55000.0);
+
+        rates = entities.stream().mapToDouble(Bid::getProposedRate).toArray();
+        ratings = entities.stream().mapToDouble(bid -> bid.getTransporter().getRating()).toArray();
+    }
+
+    /**
+     * Cold GET /load/{loadId}/best-bids: map, score and sort every pending bid.
+     */
+    @Benchmark
+    public List<BestBidDTO> mapScoreAndSort() {
+        List<BestBidDTO> dtos = entities.stream().map(BestBidDTO::fromEntity).collect(Collectors.toList());
+        return BidRanking.of(dtos, scorer).top(10);
+    }
+
+    /**
+     * Warm GET /load/{loadId}/best-bids: top 10 from a cached ranking.
+     */
+    @Benchmark
+    public List<BestBidDTO> cachedTop10() {
+        return ranking.top(10);
+    }
+
+    /**
+     * A bid submitted and withdrawn on a cached ranking.
+     */
+    @Benchmark
+    public int addAndRemove() {
+        ranking.add(midBid);
+        ranking.remove(midBid.getBidId());
+        return ranking.size();
+    }
+
+    @Benchmark
+    public double[] scoreAll() {
+        return scorer.scoreAll(rates, ratings);
+    }
+}
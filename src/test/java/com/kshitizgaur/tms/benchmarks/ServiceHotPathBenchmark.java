@@ -0,0 +1,198 @@
+package com.kshitizgaur.tms.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.kshitizgaur.tms.TmsApplication;
+import com.kshitizgaur.tms.dto.request.BidRequestDTO;
+import com.kshitizgaur.tms.dto.request.BookingRequestDTO;
+import com.kshitizgaur.tms.dto.request.LoadRequestDTO;
+import com.kshitizgaur.tms.dto.request.TransporterRequestDTO;
+import com.kshitizgaur.tms.dto.response.BidResponseDTO;
+import com.kshitizgaur.tms.dto.response.BookingResponseDTO;
+import com.kshitizgaur.tms.entity.enums.WeightUnit;
+import com.kshitizgaur.tms.service.BidService;
+import com.kshitizgaur.tms.service.BookingService;
+import com.kshitizgaur.tms.service.LoadService;
+import com.kshitizgaur.tms.service.TransporterService;
+
+/**
+ * End-to-end BidService.submitBid and BookingService.createBooking through
+ * the Spring context, transactions and an embedded H2 database.
+ *
+ * The database is seeded once per fork with {@code transporters} transporters,
+ * {@code loads} open loads and {@code bidsPerLoad} pending bids on each, all
+ * through the services so counters and caches match a running instance.
+ * Each measured iteration is a fixed batch of calls (single-shot time per
+ * batch) because every call consumes state: a (load, transporter) pair for
+ * a bid, a pending bid for a booking.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = ServiceHotPathBenchmark.BATCH)
+@Measurement(iterations = 5, batchSize = ServiceHotPathBenchmark.BATCH)
+@Fork(1)
+public class ServiceHotPathBenchmark {
+
+    static final int BATCH = 1000;
+    private static final String TRUCK_TYPE = "Container";
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        @Param({ "200" })
+        public int transporters;
+
+        @Param({ "2000" })
+        public int loads;
+
+        @Param({ "10" })
+        public int bidsPerLoad;
+
+        ConfigurableApplicationContext context;
+        LoadService loadService;
+        TransporterService transporterService;
+        BidService bidService;
+        BookingService bookingService;
+
+        final List<UUID> transporterIds = new ArrayList<>();
+        final List<UUID> loadIds = new ArrayList<>();
+        private long nextPair;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(TmsApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .bannerMode(Banner.Mode.OFF)
+                    // Arguments override application.properties; SQL and request logging would dominate
+                    .run("--spring.datasource.url=jdbc:h2:mem:tms_bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                            "--spring.jpa.show-sql=false",
+                            "--logging.level.root=WARN",
+                            "--logging.level.com.kshitizgaur.tms=WARN");
+            loadService = context.getBean(LoadService.class);
+            transporterService = context.getBean(TransporterService.class);
+            bidService = context.getBean(BidService.class);
+            bookingService = context.getBean(BookingService.class);
+
+            for (int i = 0; i < transporters; i++) {
+                transporterIds.add(registerTransporter(i));
+            }
+            for (int i = 0; i < loads; i++) {
+                loadIds.add(createLoad(50));
+            }
+            for (long i = 0, seeded = (long) loads * bidsPerLoad; i < seeded; i++) {
+                submitNextBid();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+        UUID registerTransporter(int index) {
+            return transporterService.registerTransporter(TransporterRequestDTO.builder()
+                    .companyName("Benchmark Transporter " + index)
+                    .rating(1.0 + index % 41 / 10.0)
+                    .availableTrucks(List.of(new TransporterRequestDTO.TruckCapacityDTO(TRUCK_TYPE, 1_000_000)))
+                    .build()).getTransporterId();
+        }
+
+        UUID createLoad(int trucks) {
+            return loadService.createLoad(LoadRequestDTO.builder()
+                    .shipperId("SHIPPER-" + loadIds.size() % 100)
+                    .loadingCity("Delhi")
+                    .unloadingCity("Mumbai")
+                    .loadingDate(LocalDateTime.now().plusDays(7))
+                    .productType("Electronics")
+                    .weight(12000.0)
+                    .weightUnit(WeightUnit.KG)
+                    .truckType(TRUCK_TYPE)
+                    .noOfTrucks(trucks)
+                    .build()).getLoadId();
+        }
+
+        BidResponseDTO submitBid(UUID loadId, UUID transporterId, long salt) {
+            return bidService.submitBid(BidRequestDTO.builder()
+                    .loadId(loadId)
+                    .transporterId(transporterId)
+                    .proposedRate(40000.0 + salt % 20000)
+                    .trucksOffered(1)
+                    .build());
+        }
+
+        /**
+         * Bid on the next unused (load, transporter) pair, spreading bids
+         * evenly over the seeded loads.
+         */
+        BidResponseDTO submitNextBid() {
+            long pair = nextPair++;
+            if (pair >= (long) loads * transporters) {
+                throw new IllegalStateException("All " + pair + " (load, transporter) pairs have bids");
+            }
+            int load = (int) (pair % loads);
+            int transporter = (int) (pair / loads);
+            return submitBid(loadIds.get(load), transporterIds.get(transporter), pair * 7919);
+        }
+    }
+
+    /**
+     * {@link #BATCH} fresh pending bids of one truck each, on new loads that
+     * they fill exactly, created before every iteration of the booking benchmark.
+     */
+    @State(Scope.Thread)
+    public static class PendingBids {
+
+        private final List<UUID> bidIds = new ArrayList<>(BATCH);
+        private int next;
+
+        @Setup(Level.Iteration)
+        public void fill(Database db) {
+            bidIds.clear();
+            next = 0;
+            int perLoad = db.transporters;
+            while (bidIds.size() < BATCH) {
+                int trucks = Math.min(perLoad, BATCH - bidIds.size());
+                UUID loadId = db.createLoad(trucks);
+                for (int t = 0; t < trucks; t++) {
+                    bidIds.add(db.submitBid(loadId, db.transporterIds.get(t), t).getBidId());
+                }
+            }
+        }
+
+        UUID next() {
+            return bidIds.get(next++);
+        }
+    }
+
+    @Benchmark
+    public BidResponseDTO submitBid(Database db) {
+        return db.submitNextBid();
+    }
+
+    @Benchmark
+    public BookingResponseDTO createBooking(Database db, PendingBids pending) {
+        return db.bookingService.createBooking(new BookingRequestDTO(pending.next(), 1));
+    }
+}
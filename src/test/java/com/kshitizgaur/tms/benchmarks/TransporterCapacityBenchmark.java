@@ -0,0 +1,59 @@
+package com.kshitizgaur.tms.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kshitizgaur.tms.entity.Transporter;
+
+/**
+ * Transporter.getAvailableTruckCount over a loaded truck list, for the first
+ * listed type, the last one and a type the transporter does not have.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransporterCapacityBenchmark {
+
+    @Param({ "1", "8", "32" })
+    public int truckTypes;
+
+    private Transporter transporter;
+    private String firstType;
+    private String lastType;
+
+    @Setup
+    public void setUp() {
+        transporter = Fixtures.transporter(Fixtures.random(), truckTypes);
+        firstType = transporter.getAvailableTrucks().get(0).getTruckType().toUpperCase();
+        lastType = transporter.getAvailableTrucks().get(truckTypes - 1).getTruckType().toLowerCase();
+    }
+
+    @Benchmark
+    public int firstType() {
+        return transporter.getAvailableTruckCount(firstType);
+    }
+
+    @Benchmark
+    public int lastType() {
+        return transporter.getAvailableTruckCount(lastType);
+    }
+
+    @Benchmark
+    public int missingType() {
+        return transporter.getAvailableTruckCount("Unknown");
+    }
+}
@@ -0,0 +1,198 @@
+package com.kshitizgaur.tms.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kshitizgaur.tms.dto.request.BidRequestDTO;
+import com.kshitizgaur.tms.dto.request.BookingRequestDTO;
+import com.kshitizgaur.tms.dto.request.LoadRequestDTO;
+import com.kshitizgaur.tms.dto.request.TransporterRequestDTO;
+import com.kshitizgaur.tms.entity.enums.WeightUnit;
+import com.kshitizgaur.tms.service.AuctionEngine;
+
+/**
+ * Integration tests for the API with the auction engine enabled.
+ * The shared test profile keeps the production default (engine off), so
+ * the striped path is exercised here in its own context.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "tms.auction.engine.enabled=true",
+        "tms.auction.stripes=4"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class AuctionEngineIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuctionEngine auctionEngine;
+
+    @Test
+    @DisplayName("Engine: bid, duplicate, booking, cancellation and closed load run on the stripes")
+    void mutations_ShouldRunThroughEngine() throws Exception {
+        assertTrue(auctionEngine.isEnabled());
+
+        UUID loadId = createLoad();
+        UUID transporterId = registerTransporter();
+
+        BidRequestDTO bidRequest = bidRequest(loadId, transporterId);
+        MvcResult bidResult = mockMvc.perform(post("/bid")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bidRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID bidId = UUID.fromString(
+                objectMapper.readTree(bidResult.getResponse().getContentAsString()).get("bidId").asText());
+
+        // Rejected by the load's in-memory book
+        mockMvc.perform(post("/bid")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bidRequest)))
+                .andExpect(status().isConflict());
+
+        MvcResult bookingResult = mockMvc.perform(post("/booking")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BookingRequestDTO(bidId, 1))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.allocatedTrucks").value(1))
+                .andReturn();
+        UUID bookingId = UUID.fromString(
+                objectMapper.readTree(bookingResult.getResponse().getContentAsString()).get("bookingId").asText());
+
+        mockMvc.perform(patch("/booking/" + bookingId + "/cancel"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/load/" + loadId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.remainingTrucks").value(3));
+
+        // The cancellation dropped the book, so the closed status is re-read
+        mockMvc.perform(patch("/load/" + loadId + "/cancel"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/bid")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bidRequest(loadId, registerTransporter()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Engine: racing duplicate bids are serialized so exactly one is accepted")
+    void submitBid_ConcurrentDuplicatesShouldAcceptOne() throws Exception {
+        UUID loadId = createLoad();
+        UUID transporterId = registerTransporter();
+        String body = objectMapper.writeValueAsString(bidRequest(loadId, transporterId));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            statuses.add(pool.submit(() -> {
+                start.await();
+                return mockMvc.perform(post("/bid")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                        .andReturn().getResponse().getStatus();
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        int conflicts = 0;
+        for (Future<Integer> status : statuses) {
+            int code = status.get(30, TimeUnit.SECONDS);
+            if (code == 201) {
+                created++;
+            } else if (code == 409) {
+                conflicts++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(1, created);
+        assertEquals(7, conflicts);
+    }
+
+    private UUID createLoad() throws Exception {
+        LoadRequestDTO loadRequest = LoadRequestDTO.builder()
+                .shipperId("SHIPPER001")
+                .loadingCity("Mumbai")
+                .unloadingCity("Delhi")
+                .loadingDate(LocalDateTime.now().plusDays(5))
+                .productType("Electronics")
+                .weight(5000.0)
+                .weightUnit(WeightUnit.KG)
+                .truckType("TRAILER")
+                .noOfTrucks(3)
+                .build();
+
+        MvcResult loadResult = mockMvc.perform(post("/load")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loadRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return UUID.fromString(
+                objectMapper.readTree(loadResult.getResponse().getContentAsString()).get("loadId").asText());
+    }
+
+    private UUID registerTransporter() throws Exception {
+        TransporterRequestDTO transporterRequest = TransporterRequestDTO.builder()
+                .companyName("ABC Transport")
+                .rating(4.5)
+                .availableTrucks(List.of(
+                        TransporterRequestDTO.TruckCapacityDTO.builder()
+                                .truckType("TRAILER")
+                                .count(10)
+                                .build()))
+                .build();
+
+        MvcResult transporterResult = mockMvc.perform(post("/transporter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transporterRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return UUID.fromString(
+                objectMapper.readTree(transporterResult.getResponse().getContentAsString()).get("transporterId").asText());
+    }
+
+    private BidRequestDTO bidRequest(UUID loadId, UUID transporterId) {
+        return BidRequestDTO.builder()
+                .loadId(loadId)
+                .transporterId(transporterId)
+                .proposedRate(50000.0)
+                .trucksOffered(1)
+                .build();
+    }
+}
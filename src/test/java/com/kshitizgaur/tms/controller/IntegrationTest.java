@@ -1,11 +1,21 @@
 package com.kshitizgaur.tms.controller;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,12 +24,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kshitizgaur.tms.cache.OpenLoadIndex;
+import com.kshitizgaur.tms.dto.request.BatchBookingRequestDTO;
 import com.kshitizgaur.tms.dto.request.BidRequestDTO;
 import com.kshitizgaur.tms.dto.request.BookingRequestDTO;
 import com.kshitizgaur.tms.dto.request.LoadRequestDTO;
@@ -43,6 +56,12 @@ class IntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OpenLoadIndex openLoadIndex;
+
     private LoadRequestDTO loadRequest;
     private TransporterRequestDTO transporterRequest;
 
@@ -110,6 +129,7 @@ class IntegrationTest {
                 .content(objectMapper.writeValueAsString(bidRequest)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.expiresAt").doesNotExist()) // no validity requested or configured
                 .andReturn();
 
         String bidResponse = bidResult.getResponse().getContentAsString();
@@ -136,6 +156,31 @@ class IntegrationTest {
         mockMvc.perform(get("/transporter/" + transporterId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.availableTrucks[0].count").value(8)); // 10 - 2 = 8
+
+        // Verify denormalized counters were maintained with the booking
+        mockMvc.perform(get("/load/" + loadId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.remainingTrucks").value(1))
+                .andExpect(jsonPath("$.load.activeBidsCount").value(0));
+
+        // Listings are served by projection queries
+        mockMvc.perform(get("/bid").param("loadId", loadId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].transporterName").value("ABC Transport"))
+                .andExpect(jsonPath("$.content[0].status").value("ACCEPTED"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        mockMvc.perform(get("/booking").param("transporterId", transporterId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].bidId").value(bidId.toString()))
+                .andExpect(jsonPath("$.content[0].transporterName").value("ABC Transport"))
+                .andExpect(jsonPath("$.content[0].loadingCity").value("Mumbai"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        mockMvc.perform(post("/load/counters/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.correctedLoads").value(0));
     }
 
     @Test
@@ -182,7 +227,42 @@ class IntegrationTest {
                 .param("page", "0")
                 .param("size", "10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.totalElements").value(2));
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].remainingTrucks").value(3))
+                .andExpect(jsonPath("$.content[0].activeBidsCount").value(0));
+    }
+
+    @Test
+    @DisplayName("Should scroll loads with a cursor across pages")
+    void scrollLoads_ShouldFollowCursor() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/load")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(loadRequest)))
+                    .andExpect(status().isCreated());
+        }
+
+        MvcResult firstPage = mockMvc.perform(get("/load/scroll")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn();
+
+        String cursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/load/scroll")
+                .param("size", "2")
+                .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/load/scroll")
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -208,6 +288,30 @@ class IntegrationTest {
                 .andExpect(jsonPath("$.totalElements").value(1));
     }
 
+    @Test
+    @DisplayName("Should rebuild drifted load counters from bookings and bids")
+    void rebuildCounters_ShouldCorrectDrift() throws Exception {
+        MvcResult result = mockMvc.perform(post("/load")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loadRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        UUID loadId = UUID.fromString(
+                objectMapper.readTree(result.getResponse().getContentAsString()).get("loadId").asText());
+
+        jdbcTemplate.update("UPDATE loads SET allocated_trucks = 2, pending_bid_count = 5 WHERE load_id = ?", loadId);
+
+        mockMvc.perform(post("/load/counters/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.correctedLoads").value(1));
+
+        mockMvc.perform(get("/load/" + loadId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.remainingTrucks").value(3))
+                .andExpect(jsonPath("$.load.activeBidsCount").value(0));
+    }
+
     @Test
     @DisplayName("Should cancel load successfully")
     void cancelLoad_ShouldSucceed() throws Exception {
@@ -227,6 +331,38 @@ class IntegrationTest {
                 .andExpect(jsonPath("$.status").value("CANCELLED"));
     }
 
+    @Test
+    @DisplayName("Committed changes should be written to the outbox and dispatched")
+    void outbox_ShouldRecordAndDispatchCommittedChanges() throws Exception {
+        MvcResult result = mockMvc.perform(post("/load")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loadRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID loadId = UUID.fromString(
+                objectMapper.readTree(result.getResponse().getContentAsString()).get("loadId").asText());
+
+        mockMvc.perform(patch("/load/" + loadId + "/cancel"))
+                .andExpect(status().isOk());
+        // A rejected change records nothing
+        mockMvc.perform(patch("/load/" + loadId + "/cancel"))
+                .andExpect(status().isBadRequest());
+
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT event_type FROM outbox_events WHERE aggregate_id = ? ORDER BY id", String.class, loadId);
+        assertEquals(List.of("LOAD_CREATED", "LOAD_CANCELLED"), types);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        Integer pending;
+        do {
+            Thread.sleep(50);
+            pending = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM outbox_events WHERE aggregate_id = ? AND dispatched_at IS NULL",
+                    Integer.class, loadId);
+        } while (pending > 0 && System.currentTimeMillis() < deadline);
+        assertEquals(0, pending);
+    }
+
     @Test
     @DisplayName("Should return best bids sorted by score")
     void getBestBids_ShouldReturnSortedByScore() throws Exception {
@@ -313,6 +449,737 @@ class IntegrationTest {
                 .andExpect(jsonPath("$[0].score").exists());
     }
 
+    @Test
+    @DisplayName("Should keep the cached bid ranking in step with bid changes")
+    void bestBidRanking_ShouldFollowSubmitAndReject() throws Exception {
+        MvcResult loadResult = mockMvc.perform(post("/load")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loadRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        UUID loadId = UUID.fromString(
+                objectMapper.readTree(loadResult.getResponse().getContentAsString()).get("loadId").asText());
+
+        MvcResult transporterResult = mockMvc.perform(post("/transporter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transporterRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        UUID transporterId = UUID.fromString(
+                objectMapper.readTree(transporterResult.getResponse().getContentAsString()).get("transporterId").asText());
+
+        // Build the (empty) ranking before any bid exists
+        mockMvc.perform(get("/load/" + loadId + "/best-bids"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        BidRequestDTO bidRequest = BidRequestDTO.builder()
+                .loadId(loadId)
+                .transporterId(transporterId)
+                .proposedRate(50000.0)
+                .trucksOffered(2)
+                .build();
+
+        MvcResult bidResult = mockMvc.perform(post("/bid")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bidRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        UUID bidId = UUID.fromString(
+                objectMapper.readTree(bidResult.getResponse().getContentAsString()).get("bidId").asText());
+
+        // Submitted bid is added to the cached ranking
+        mockMvc.perform(get("/load/" + loadId + "/best-bids").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].bidId").value(bidId.toString()));
+
+        mockMvc.perform(get("/load/" + loadId + "/best-bids/" + bidId + "/rank"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(1))
+                .andExpect(jsonPath("$.totalBids").value(1));
+
+        // Rejected bid drops out of the ranking
+        mockMvc.perform(patch("/bid/" + bidId + "/reject"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/load/" + loadId + "/best-bids"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(get("/load/" + loadId + "/best-bids/" + bidId + "/rank"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/load/" + loadId + "/best-bids").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should push the ranking to SSE subscribers after a bid commits")
+    void streamBestBids_ShouldPushAfterBidSubmission() throws Exception {
+        MvcResult loadResult = mockMvc.perform(post("/load")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loadRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        UUID loadId = UUID.fromString(
+                objectMapper.readTree(loadResult.getResponse().getContentAsString()).get("loadId").asText());
+
+        MvcResult transporterResult = mockMvc.perform(post("/transporter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transporterRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        UUID transporterId = UUID.fromString(
+                objectMapper.readTree(transporterResult.getResponse().getContentAsString()).get("transporterId").asText());
+
+        MvcResult streamResult = mockMvc.perform(get("/load/" + loadId + "/best-bids/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        BidRequestDTO bidRequest = BidRequestDTO.builder()
+                .loadId(loadId)
+                .transporterId(transporterId)
+                .proposedRate(50000.0)
+                .trucksOffered(2)
+                .build();
+
+        MvcResult bidResult = mockMvc.perform(post("/bid")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bidRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        String bidId = objectMapper.readTree(bidResult.getResponse().getContentAsString()).get("bidId").asText();
+
+        // Initial snapshot is pushed at once; the new bid arrives on the next coalescing tick
+        long deadline = System.currentTimeMillis() + 5000;
+        String stream = streamResult.getResponse().getContentAsString();
+        while (!stream.contains(bidId) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            stream = streamResult.getResponse().getContentAsString();
+        }
+
+        assertTrue(stream.startsWith("event:best-bids\ndata:[]"), stream);
+        assertTrue(stream.contains(bidId), stream);
+    }
+
+    @Test
+    @DisplayName("Should export filtered loads as NDJSON")
+    void exportLoads_ShouldStreamOneLinePerLoad() throws Exception {
+        for (String shipperId : List.of("SHIPPER001", "SHIPPER001", "SHIPPER002")) {
+            loadRequest.setShipperId(shipperId);
+            mockMvc.perform(post("/load")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(loadRequest)))
+                    .andExpect(status().isCreated());
+        }
+
+        MvcResult exportResult = mockMvc.perform(get("/load/export").param("shipperId", "SHIPPER001"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(exportResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertEquals("SHIPPER001", objectMapper.readTree(line).get("shipperId").asText());
+        }
+    }
+
+    @Test
+    @DisplayName("Should search open loads by lane ignoring case and whitespace")
+    void searchLoads_ShouldMatchNormalizedLaneAndSkipCancelled() throws Exception {
+        UUID cancelledId = null;
+        for (String unloadingCity : List.of("Delhi", "  new   DELHI ", "New Delhi", "Pune")) {
+            loadRequest.setUnloadingCity(unloadingCity);
+            MvcResult result = mockMvc.perform(post("/load")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(loadRequest)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            if (unloadingCity.equals("New Delhi")) {
+                cancelledId = UUID.fromString(
+                        objectMapper.readTree(result.getResponse().getContentAsString()).get("loadId").asText());
+            }
+        }
+
+        mockMvc.perform(patch("/load/" + cancelledId + "/cancel"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/load/search")
+                .param("loadingCity", "MUMBAI")
+                .param("unloadingCity", "new delhi")
+                .param("truckType", "trailer")
+                .param("loadingFrom", LocalDateTime.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].unloadingCity").value("  new   DELHI "));
+
+        mockMvc.perform(get("/load/search")
+                .param("loadingCity", "Mumbai")
+                .param("unloadingCity", "Delhi")
+                .param("loadingTo", LocalDateTime.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Should page through open loads a transporter's fleet can take")
+    void matchingLoads_ShouldFilterByFleetAndExistingBids() throws Exception {
+        transporterRequest.getAvailableTrucks().get(0).setCount(2);
+        MvcResult transporterResult = mockMvc.perform(post("/transporter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transporterRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        UUID transporterId = UUID.fromString(
+                objectMapper.readTree(transporterResult.getResponse().getContentAsString()).get("transporterId").asText());
+
+        // truck type, trucks needed, days until loading
+        Object[][] loads = {
+                { "TRAILER", 2, 3 }, // match
+                { "TRAILER", 3, 1 }, // needs more trucks than the fleet has
+                { "CONTAINER", 1, 1 }, // truck type not in the fleet
+                { "TRAILER", 1, 2 }, // already bid on
+                { "trailer", 1, 4 } // match (case-insensitive)
+        };
+        List<UUID> loadIds = new ArrayList<>();
+        for (Object[] load : loads) {
+            loadRequest.setTruckType((String) load[0]);
+            loadRequest.setNoOfTrucks((Integer) load[1]);
+            loadRequest.setLoadingDate(LocalDateTime.now().plusDays((Integer) load[2]));
+            MvcResult result = mockMvc.perform(post("/load")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(loadRequest)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            loadIds.add(UUID.fromString(
+                    objectMapper.readTree(result.getResponse().getContentAsString()).get("loadId").asText()));
+        }
+
+        mockMvc.perform(post("/bid")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BidRequestDTO.builder()
+                        .loadId(loadIds.get(3))
+                        .transporterId(transporterId)
+                        .proposedRate(10000.0)
+                        .trucksOffered(1)
+                        .build())))
+                .andExpect(status().isCreated());
+
+        MvcResult firstPage = mockMvc.perform(get("/transporter/" + transporterId + "/matching-loads")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].loadId").value(loadIds.get(0).toString()))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn();
+
+        String cursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/transporter/" + transporterId + "/matching-loads")
+                .param("size", "1")
+                .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].loadId").value(loadIds.get(4).toString()))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("Matching loads should follow partial bookings and their cancellation")
+    void matchingLoads_ShouldFollowRemainingTrucks() throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!openLoadIndex.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(openLoadIndex.isReady());
+
+        // Fleet of 2 trailers; the load needs 3 until one is booked by another transporter
+        UUID fleetId = registerTransporter(2);
+        UUID bookerId = registerTransporter(10);
+
+        MvcResult loadResult = mockMvc.perform(post("/load")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loadRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID loadId = UUID.fromString(
+                objectMapper.readTree(loadResult.getResponse().getContentAsString()).get("loadId").asText());
+
+        mockMvc.perform(get("/transporter/" + fleetId + "/matching-loads"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+
+        MvcResult bidResult = mockMvc.perform(post("/bid")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BidRequestDTO.builder()
+                        .loadId(loadId)
+                        .transporterId(bookerId)
+                        .proposedRate(40000.0)
+                        .trucksOffered(1)
+                        .build())))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID bidId = UUID.fromString(
+                objectMapper.readTree(bidResult.getResponse().getContentAsString()).get("bidId").asText());
+
+        MvcResult bookingResult = mockMvc.perform(post("/booking")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BookingRequestDTO.builder().bidId(bidId).build())))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String bookingId = objectMapper.readTree(bookingResult.getResponse().getContentAsString())
+                .get("bookingId").asText();
+
+        mockMvc.perform(get("/transporter/" + fleetId + "/matching-loads"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].loadId").value(loadId.toString()))
+                .andExpect(jsonPath("$.content[0].remainingTrucks").value(2));
+
+        mockMvc.perform(patch("/booking/" + bookingId + "/cancel"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/transporter/" + fleetId + "/matching-loads"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    private UUID registerTransporter(int trailers) throws Exception {
+        transporterRequest.getAvailableTrucks().get(0).setCount(trailers);
+        MvcResult result = mockMvc.perform(post("/transporter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transporterRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return UUID.fromString(
+                objectMapper.readTree(result.getResponse().getContentAsString()).get("transporterId").asText());
+    }
+
+    @Test
+    @DisplayName("Should create valid loads in bulk and report invalid ones per item")
+    void createLoadsInBulk_ShouldReturnPerItemResults() throws Exception {
+        LoadRequestDTO invalid = LoadRequestDTO.builder()
+                .shipperId("SHIPPER001")
+                .loadingCity("Mumbai")
+                .build();
+
+        mockMvc.perform(post("/load/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(loadRequest, invalid, loadRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].id").exists())
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"))
+                .andExpect(jsonPath("$.results[1].error").value(containsString("unloadingCity")))
+                .andExpect(jsonPath("$.results[2].status").value("CREATED"));
+
+        mockMvc.perform(get("/load").param("shipperId", "SHIPPER001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+
+        mockMvc.perform(post("/load/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should submit bids in bulk and report rejected ones per item")
+    void submitBidsInBulk_ShouldReturnPerItemResults() throws Exception {
+        List<UUID> loadIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MvcResult result = mockMvc.perform(post("/load")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(loadRequest)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            loadIds.add(UUID.fromString(
+                    objectMapper.readTree(result.getResponse().getContentAsString()).get("loadId").asText()));
+        }
+        mockMvc.perform(patch("/load/" + loadIds.get(2) + "/cancel"))
+                .andExpect(status().isOk());
+
+        MvcResult transporterResult = mockMvc.perform(post("/transporter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transporterRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID transporterId = UUID.fromString(objectMapper.readTree(transporterResult.getResponse().getContentAsString())
+                .get("transporterId").asText());
+
+        BidRequestDTO first = BidRequestDTO.builder()
+                .loadId(loadIds.get(0)).transporterId(transporterId).proposedRate(50000.0).trucksOffered(2).build();
+        BidRequestDTO second = BidRequestDTO.builder()
+                .loadId(loadIds.get(1)).transporterId(transporterId).proposedRate(45000.0).trucksOffered(1).build();
+        BidRequestDTO cancelledLoad = BidRequestDTO.builder()
+                .loadId(loadIds.get(2)).transporterId(transporterId).proposedRate(45000.0).trucksOffered(1).build();
+        BidRequestDTO overCapacity = BidRequestDTO.builder()
+                .loadId(loadIds.get(1)).transporterId(UUID.randomUUID()).proposedRate(45000.0).trucksOffered(1).build();
+
+        mockMvc.perform(post("/bid/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(first, second, first, cancelledLoad, overCapacity))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[2].status").value("INVALID"))
+                .andExpect(jsonPath("$.results[2].error").value(containsString("already submitted")))
+                .andExpect(jsonPath("$.results[3].error").value(containsString("CANCELLED")))
+                .andExpect(jsonPath("$.results[4].error").value(containsString("Transporter not found")));
+
+        mockMvc.perform(get("/load/" + loadIds.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.load.status").value("OPEN_FOR_BIDS"))
+                .andExpect(jsonPath("$.load.activeBidsCount").value(1));
+
+        // GET /bid pages through the transporter's bids with a cursor
+        MvcResult firstPage = mockMvc.perform(get("/bid")
+                .param("transporterId", transporterId.toString())
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn();
+        String cursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+        String firstBidId = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .get("content").get(0).get("bidId").asText();
+
+        mockMvc.perform(get("/bid")
+                .param("transporterId", transporterId.toString())
+                .param("size", "1")
+                .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.content[0].bidId").value(not(firstBidId)))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("Should auto-award a load to the cheapest bids, splitting the last one")
+    void autoAward_ShouldBookCheapestBidsAndCloseLoad() throws Exception {
+        // Create load needing 3 trucks
+        MvcResult loadResult = mockMvc.perform(post("/load")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loadRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        UUID loadId = UUID.fromString(
+                objectMapper.readTree(loadResult.getResponse().getContentAsString()).get("loadId").asText());
+
+        // Three transporters bid 2, 2 and 3 trucks at increasing rates
+        double[] rates = { 40000.0, 45000.0, 50000.0 };
+        int[] trucks = { 2, 2, 3 };
+        List<String> bidIds = new ArrayList<>();
+        for (int i = 0; i < rates.length; i++) {
+            MvcResult transporterResult = mockMvc.perform(post("/transporter")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(transporterRequest)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            UUID transporterId = UUID.fromString(objectMapper
+                    .readTree(transporterResult.getResponse().getContentAsString()).get("transporterId").asText());
+
+            BidRequestDTO bidRequest = BidRequestDTO.builder()
+                    .loadId(loadId)
+                    .transporterId(transporterId)
+                    .proposedRate(rates[i])
+                    .trucksOffered(trucks[i])
+                    .build();
+
+            MvcResult bidResult = mockMvc.perform(post("/bid")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(bidRequest)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            bidIds.add(objectMapper.readTree(bidResult.getResponse().getContentAsString()).get("bidId").asText());
+        }
+
+        // Cheapest fill: 2 trucks from the first bid, 1 from the second
+        mockMvc.perform(post("/load/" + loadId + "/auto-award").param("objective", "MIN_COST"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.trucksAwarded").value(3))
+                .andExpect(jsonPath("$.totalCost").value(125000.0))
+                .andExpect(jsonPath("$.bookings.length()").value(2))
+                .andExpect(jsonPath("$.bookings[0].bidId").value(bidIds.get(0)))
+                .andExpect(jsonPath("$.bookings[0].allocatedTrucks").value(2))
+                .andExpect(jsonPath("$.bookings[1].bidId").value(bidIds.get(1)))
+                .andExpect(jsonPath("$.bookings[1].allocatedTrucks").value(1));
+
+        mockMvc.perform(get("/load/" + loadId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.load.status").value("BOOKED"));
+
+        mockMvc.perform(get("/bid/" + bidIds.get(2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("REJECTED"));
+
+        // Nothing left to award
+        mockMvc.perform(post("/load/" + loadId + "/auto-award"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Batch booking should book every bid or none")
+    void createBookingsInBatch_ShouldBeAllOrNothing() throws Exception {
+        // Create load needing 3 trucks
+        MvcResult loadResult = mockMvc.perform(post("/load")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loadRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        UUID loadId = UUID.fromString(
+                objectMapper.readTree(loadResult.getResponse().getContentAsString()).get("loadId").asText());
+
+        // Three transporters bid 2, 2 and 1 trucks
+        int[] trucks = { 2, 2, 1 };
+        List<UUID> transporterIds = new ArrayList<>();
+        List<UUID> bidIds = new ArrayList<>();
+        for (int i = 0; i < trucks.length; i++) {
+            MvcResult transporterResult = mockMvc.perform(post("/transporter")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(transporterRequest)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            transporterIds.add(UUID.fromString(objectMapper
+                    .readTree(transporterResult.getResponse().getContentAsString()).get("transporterId").asText()));
+
+            BidRequestDTO bidRequest = BidRequestDTO.builder()
+                    .loadId(loadId)
+                    .transporterId(transporterIds.get(i))
+                    .proposedRate(40000.0 + i * 1000)
+                    .trucksOffered(trucks[i])
+                    .build();
+
+            MvcResult bidResult = mockMvc.perform(post("/bid")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(bidRequest)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            bidIds.add(UUID.fromString(
+                    objectMapper.readTree(bidResult.getResponse().getContentAsString()).get("bidId").asText()));
+        }
+
+        // 4 trucks for a 3-truck load: nothing is booked
+        BatchBookingRequestDTO tooMany = new BatchBookingRequestDTO(loadId, List.of(
+                new BookingRequestDTO(bidIds.get(0), null),
+                new BookingRequestDTO(bidIds.get(1), null)));
+        mockMvc.perform(post("/booking/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tooMany)))
+                .andExpect(status().isBadRequest());
+
+        // The last transporter runs out of trucks: the first deduction is rolled back too
+        jdbcTemplate.update("UPDATE available_trucks SET count = 0 WHERE transporter_id = ?", transporterIds.get(2));
+        BatchBookingRequestDTO fill = new BatchBookingRequestDTO(loadId, List.of(
+                new BookingRequestDTO(bidIds.get(0), null),
+                new BookingRequestDTO(bidIds.get(2), null)));
+        mockMvc.perform(post("/booking/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(fill)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Insufficient")));
+
+        mockMvc.perform(get("/transporter/" + transporterIds.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTrucks[0].count").value(10));
+        mockMvc.perform(get("/load/" + loadId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.remainingTrucks").value(3))
+                .andExpect(jsonPath("$.load.status").value("OPEN_FOR_BIDS"));
+
+        // With capacity back, 2 + 1 trucks fill the load in one request
+        jdbcTemplate.update("UPDATE available_trucks SET count = 10 WHERE transporter_id = ?", transporterIds.get(2));
+        mockMvc.perform(post("/booking/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(fill)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.trucksAllocated").value(3))
+                .andExpect(jsonPath("$.loadStatus").value("BOOKED"))
+                .andExpect(jsonPath("$.bookings.length()").value(2))
+                .andExpect(jsonPath("$.bookings[0].bidId").value(bidIds.get(0).toString()))
+                .andExpect(jsonPath("$.bookings[1].bidId").value(bidIds.get(2).toString()));
+
+        mockMvc.perform(get("/bid/" + bidIds.get(1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("REJECTED"));
+        mockMvc.perform(get("/transporter/" + transporterIds.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTrucks[0].count").value(8));
+    }
+
+    @Test
+    @DisplayName("Should reject all pending bids of a load and keep it open")
+    void rejectAllPendingBids_ShouldRejectAndKeepLoadOpen() throws Exception {
+        MvcResult loadResult = mockMvc.perform(post("/load")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loadRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        UUID loadId = UUID.fromString(
+                objectMapper.readTree(loadResult.getResponse().getContentAsString()).get("loadId").asText());
+
+        List<String> bidIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MvcResult transporterResult = mockMvc.perform(post("/transporter")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(transporterRequest)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            UUID transporterId = UUID.fromString(objectMapper
+                    .readTree(transporterResult.getResponse().getContentAsString()).get("transporterId").asText());
+
+            BidRequestDTO bidRequest = BidRequestDTO.builder()
+                    .loadId(loadId)
+                    .transporterId(transporterId)
+                    .proposedRate(45000.0 + i * 1000)
+                    .trucksOffered(1)
+                    .build();
+
+            MvcResult bidResult = mockMvc.perform(post("/bid")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(bidRequest)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            bidIds.add(objectMapper.readTree(bidResult.getResponse().getContentAsString()).get("bidId").asText());
+        }
+
+        // Warm the ranking so the rejection has to invalidate it
+        mockMvc.perform(get("/load/" + loadId + "/best-bids"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+
+        mockMvc.perform(patch("/bid/" + bidIds.get(0) + "/reject"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/load/" + loadId + "/bids/reject"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loadId").value(loadId.toString()))
+                .andExpect(jsonPath("$.rejectedBids").value(2));
+
+        mockMvc.perform(get("/load/" + loadId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.load.status").value("OPEN_FOR_BIDS"))
+                .andExpect(jsonPath("$.load.activeBidsCount").value(0))
+                .andExpect(jsonPath("$.activeBids.length()").value(0));
+
+        mockMvc.perform(get("/bid/" + bidIds.get(2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("REJECTED"));
+
+        mockMvc.perform(get("/load/" + loadId + "/best-bids"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        // Nothing left to reject; a cancelled load cannot be touched
+        mockMvc.perform(patch("/load/" + loadId + "/bids/reject"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rejectedBids").value(0));
+
+        mockMvc.perform(patch("/load/" + loadId + "/cancel"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/load/" + loadId + "/bids/reject"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Concurrent bookings should succeed exactly up to the transporter's capacity")
+    void createBooking_ConcurrentBookingsShouldOnlyFailOnRealCapacity() throws Exception {
+        MvcResult transporterResult = mockMvc.perform(post("/transporter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transporterRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        UUID transporterId = UUID.fromString(
+                objectMapper.readTree(transporterResult.getResponse().getContentAsString()).get("transporterId").asText());
+
+        // 8 loads, one 2-truck bid on each: 16 trucks wanted, 10 available
+        List<UUID> bidIds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            MvcResult loadResult = mockMvc.perform(post("/load")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(loadRequest)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            UUID loadId = UUID.fromString(
+                    objectMapper.readTree(loadResult.getResponse().getContentAsString()).get("loadId").asText());
+
+            BidRequestDTO bidRequest = BidRequestDTO.builder()
+                    .loadId(loadId)
+                    .transporterId(transporterId)
+                    .proposedRate(50000.0)
+                    .trucksOffered(2)
+                    .build();
+
+            MvcResult bidResult = mockMvc.perform(post("/bid")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(bidRequest)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            bidIds.add(UUID.fromString(
+                    objectMapper.readTree(bidResult.getResponse().getContentAsString()).get("bidId").asText()));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(bidIds.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        for (UUID bidId : bidIds) {
+            String body = objectMapper.writeValueAsString(new BookingRequestDTO(bidId, 2));
+            statuses.add(pool.submit(() -> {
+                start.await();
+                return mockMvc.perform(post("/booking")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                        .andReturn().getResponse().getStatus();
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        int insufficient = 0;
+        for (Future<Integer> status : statuses) {
+            int code = status.get(30, TimeUnit.SECONDS);
+            if (code == 201) {
+                created++;
+            } else if (code == 400) {
+                insufficient++;
+            }
+        }
+        pool.shutdown();
+
+        // No conflicts: every booking fails only once the trucks have run out
+        assertEquals(5, created);
+        assertEquals(3, insufficient);
+
+        mockMvc.perform(get("/transporter/" + transporterId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTrucks[0].count").value(0));
+    }
+
     @Test
     @DisplayName("Should prevent duplicate bids from same transporter")
     void submitBid_ShouldPreventDuplicates() throws Exception {
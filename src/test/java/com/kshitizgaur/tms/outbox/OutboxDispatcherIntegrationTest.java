@@ -0,0 +1,102 @@
+package com.kshitizgaur.tms.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.kshitizgaur.tms.entity.OutboxEvent;
+import com.kshitizgaur.tms.event.LoadChangeType;
+import com.kshitizgaur.tms.repository.OutboxEventRepository;
+
+/**
+ * Runs the dispatcher against the real outbox table with a listener that
+ * always rejects one load's events, and checks that the load is parked
+ * without starving the other loads.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "tms.outbox.poll-interval=50ms",
+        "tms.outbox.batch-size=2",
+        "tms.outbox.max-attempts=20"
+})
+@DirtiesContext
+class OutboxDispatcherIntegrationTest {
+
+    private static final UUID POISON_LOAD = UUID.randomUUID();
+    private static final Set<Long> delivered = ConcurrentHashMap.newKeySet();
+
+    @TestConfiguration
+    static class PoisonListenerConfig {
+
+        @Bean
+        DomainEventListener poisonListener() {
+            return event -> {
+                if (event.aggregateId().equals(POISON_LOAD)) {
+                    throw new IllegalStateException("cannot handle load " + POISON_LOAD);
+                }
+                delivered.add(event.id());
+            };
+        }
+    }
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("A load that always fails should be parked while other loads are delivered")
+    void poisonLoadShouldNotStarveOtherLoads() throws Exception {
+        // The poison load alone fills more than a batch, ahead of the healthy load
+        for (int i = 0; i < 3; i++) {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .aggregateId(POISON_LOAD).eventType(LoadChangeType.BID_SUBMITTED).build());
+        }
+        UUID healthyLoad = UUID.randomUUID();
+        List<Long> healthy = List.of(
+                outboxEventRepository.save(OutboxEvent.builder()
+                        .aggregateId(healthyLoad).eventType(LoadChangeType.LOAD_CREATED).build()).getId(),
+                outboxEventRepository.save(OutboxEvent.builder()
+                        .aggregateId(healthyLoad).eventType(LoadChangeType.LOAD_CANCELLED).build()).getId());
+
+        // Delivered while the poison load is still being retried
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!delivered.containsAll(healthy) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(delivered.containsAll(healthy), "healthy load's events were not delivered");
+        assertEquals(0, parkedCount());
+
+        // Each poison event is parked in turn after its last attempt
+        deadline = System.currentTimeMillis() + 20000;
+        while (parkedCount() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(3, parkedCount());
+        assertEquals(List.of(20, 20, 20), jdbcTemplate.queryForList(
+                "SELECT attempts FROM outbox_events WHERE aggregate_id = ? AND dispatched_at IS NULL ORDER BY id",
+                Integer.class, POISON_LOAD));
+    }
+
+    private int parkedCount() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE aggregate_id = ? AND parked_at IS NOT NULL",
+                Integer.class, POISON_LOAD);
+    }
+}
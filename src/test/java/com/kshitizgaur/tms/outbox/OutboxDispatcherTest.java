@@ -0,0 +1,131 @@
+package com.kshitizgaur.tms.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kshitizgaur.tms.entity.OutboxEvent;
+import com.kshitizgaur.tms.event.LoadChangeType;
+import com.kshitizgaur.tms.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ObjectProvider<DomainEventListener> listenerProvider;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry registry;
+    private OutboxDispatcher dispatcher;
+
+    private final UUID loadA = UUID.randomUUID();
+    private final UUID loadB = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        // Long poll interval: the test drives every batch itself
+        dispatcher = new OutboxDispatcher(outboxEventRepository, listenerProvider,
+                new TransactionTemplate(transactionManager), registry, Duration.ofHours(1), 10, 3, Duration.ofHours(24));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    private OutboxEvent event(long id, UUID loadId, LoadChangeType type) {
+        return OutboxEvent.builder().id(id).aggregateId(loadId).eventType(type).build();
+    }
+
+    @Test
+    @DisplayName("Should deliver a batch in order and mark it dispatched")
+    void shouldDeliverInOrder() {
+        when(outboxEventRepository.findPending(Limit.of(10))).thenReturn(List.of(
+                event(1, loadA, LoadChangeType.BID_SUBMITTED),
+                event(2, loadB, LoadChangeType.LOAD_CREATED),
+                event(3, loadA, LoadChangeType.BOOKING_CREATED)));
+        List<Long> received = new ArrayList<>();
+
+        int dispatched = dispatcher.dispatchBatch(List.of(event -> received.add(event.id())));
+
+        assertEquals(3, dispatched);
+        assertEquals(List.of(1L, 2L, 3L), received);
+        verify(outboxEventRepository).markDispatched(eq(List.of(1L, 2L, 3L)), any());
+        verify(outboxEventRepository, never()).incrementAttempts(any());
+        assertEquals(3, registry.counter("tms.outbox.dispatched").count());
+    }
+
+    @Test
+    @DisplayName("A failing event should hold back later events of its load only")
+    void failureShouldBlockOnlyItsLoad() {
+        when(outboxEventRepository.findPending(Limit.of(10))).thenReturn(List.of(
+                event(1, loadA, LoadChangeType.BID_SUBMITTED),
+                event(2, loadB, LoadChangeType.LOAD_CREATED),
+                event(3, loadA, LoadChangeType.BOOKING_CREATED)));
+        List<Long> received = new ArrayList<>();
+        DomainEventListener failsOnFirst = event -> {
+            if (event.id() == 1) {
+                throw new IllegalStateException("listener down");
+            }
+            received.add(event.id());
+        };
+
+        int dispatched = dispatcher.dispatchBatch(List.of(failsOnFirst));
+
+        assertEquals(1, dispatched);
+        assertEquals(List.of(2L), received);
+        verify(outboxEventRepository).markDispatched(eq(List.of(2L)), any());
+        verify(outboxEventRepository).incrementAttempts(List.of(1L));
+        assertEquals(1, registry.counter("tms.outbox.failed").count());
+    }
+
+    @Test
+    @DisplayName("An event that fails its last allowed attempt should be parked")
+    void lastFailedAttemptShouldPark() {
+        OutboxEvent poison = event(1, loadA, LoadChangeType.BID_SUBMITTED);
+        poison.setAttempts(2);
+        when(outboxEventRepository.findPending(Limit.of(10))).thenReturn(List.of(
+                poison,
+                event(2, loadB, LoadChangeType.LOAD_CREATED)));
+        DomainEventListener failsOnLoadA = event -> {
+            if (event.aggregateId().equals(loadA)) {
+                throw new IllegalStateException("cannot handle");
+            }
+        };
+
+        int dispatched = dispatcher.dispatchBatch(List.of(failsOnLoadA));
+
+        assertEquals(1, dispatched);
+        verify(outboxEventRepository).park(eq(List.of(1L)), any());
+        verify(outboxEventRepository, never()).incrementAttempts(any());
+        assertEquals(1, registry.counter("tms.outbox.parked").count());
+        assertEquals(1, registry.counter("tms.outbox.failed").count());
+    }
+}
@@ -0,0 +1,120 @@
+package com.kshitizgaur.tms.retry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConflictRetryAspectTest {
+
+    private MeterRegistry registry;
+    private ConflictRetryAspect aspect;
+
+    /**
+     * Fails with an optimistic-lock conflict on its first {@code conflicts} calls.
+     */
+    static class ConflictingService {
+
+        int conflicts;
+        int calls;
+
+        @RetryOnConflict
+        public String book() {
+            calls++;
+            if (calls <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException("Load", "load-1");
+            }
+            return "booked";
+        }
+
+        @RetryOnConflict
+        public String reject() {
+            calls++;
+            throw new IllegalArgumentException("not retryable");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        aspect = new ConflictRetryAspect(registry, 4, Duration.ofMillis(1), Duration.ofMillis(5));
+    }
+
+    private ConflictingService proxy(ConflictingService target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private double count(String name) {
+        return registry.find(name).tag("method", "ConflictingService.book").counters().stream()
+                .mapToDouble(c -> c.count()).sum();
+    }
+
+    @Test
+    @DisplayName("Should re-run a conflicting call until it succeeds")
+    void shouldRetryUntilSuccess() {
+        ConflictingService target = new ConflictingService();
+        target.conflicts = 2;
+
+        assertEquals("booked", proxy(target).book());
+
+        assertEquals(3, target.calls);
+        assertEquals(2, count("tms.retry.retries"));
+        assertEquals(1, count("tms.retry.recovered"));
+        assertEquals(0, count("tms.retry.exhausted"));
+    }
+
+    @Test
+    @DisplayName("Should rethrow the conflict once the attempt budget is spent")
+    void shouldGiveUpAfterMaxAttempts() {
+        ConflictingService target = new ConflictingService();
+        target.conflicts = Integer.MAX_VALUE;
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> proxy(target).book());
+
+        assertEquals(4, target.calls);
+        assertEquals(3, count("tms.retry.retries"));
+        assertEquals(1, count("tms.retry.exhausted"));
+    }
+
+    @Test
+    @DisplayName("Should not retry other failures or calls inside an existing transaction")
+    void shouldNotRetryOtherFailuresOrNestedCalls() {
+        ConflictingService target = new ConflictingService();
+        assertThrows(IllegalArgumentException.class, () -> proxy(target).reject());
+        assertEquals(1, target.calls);
+
+        ConflictingService nested = new ConflictingService();
+        nested.conflicts = 1;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(ObjectOptimisticLockingFailureException.class, () -> proxy(nested).book());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertEquals(1, nested.calls);
+    }
+
+    @Test
+    @DisplayName("Backoff should stay within the exponential ceiling")
+    void backoffShouldBeBounded() {
+        ConflictRetryAspect slow = new ConflictRetryAspect(registry, 4, Duration.ofMillis(10),
+                Duration.ofMillis(50));
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(slow.backoffMillis(1) <= 10);
+            assertTrue(slow.backoffMillis(2) <= 20);
+            assertTrue(slow.backoffMillis(10) <= 50);
+        }
+    }
+}
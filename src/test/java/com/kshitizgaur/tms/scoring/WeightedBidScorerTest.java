@@ -0,0 +1,63 @@
+package com.kshitizgaur.tms.scoring;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for WeightedBidScorer.
+ */
+class WeightedBidScorerTest {
+
+    @Test
+    @DisplayName("Should keep the original Rule 5 formula with INVERSE normalization")
+    void score_ShouldMatchOriginalFormula_WhenInverse() {
+        BidScorer scorer = new WeightedBidScorer(0.7, 0.3, RateNormalization.INVERSE, 10000);
+
+        double[] scores = scorer.scoreAll(new double[] { 50000.0 }, new double[] { 4.5 });
+
+        assertEquals((1.0 / 50000.0) * 0.7 + (4.5 / 5.0) * 0.3, scores[0], 1e-12);
+    }
+
+    @Test
+    @DisplayName("Should normalize rates against the lowest rate of the load")
+    void scoreAll_ShouldNormalizeToLowestRate() {
+        BidScorer scorer = new WeightedBidScorer(1.0, 0.0, RateNormalization.LOWEST_RATE, 10000);
+
+        double[] scores = scorer.scoreAll(new double[] { 40000.0, 20000.0, 80000.0 }, new double[] { 3.0, 3.0, 3.0 });
+
+        assertArrayEquals(new double[] { 0.5, 1.0, 0.25 }, scores, 1e-12);
+    }
+
+    @Test
+    @DisplayName("Should give the same scores in parallel as sequentially")
+    void scoreAll_ShouldMatchSequential_WhenParallel() {
+        Random random = new Random(1);
+        double[] rates = new double[50_000];
+        double[] ratings = new double[rates.length];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = 10000 + random.nextInt(90000);
+            ratings[i] = 1 + random.nextDouble() * 4;
+        }
+
+        double[] sequential = new WeightedBidScorer(0.7, 0.3, RateNormalization.LOWEST_RATE, Integer.MAX_VALUE)
+                .scoreAll(rates, ratings);
+        double[] parallel = new WeightedBidScorer(0.7, 0.3, RateNormalization.LOWEST_RATE, 1000)
+                .scoreAll(rates, ratings);
+
+        assertArrayEquals(sequential, parallel);
+    }
+
+    @Test
+    @DisplayName("Should reject negative or all-zero weights")
+    void withWeights_ShouldValidateWeights() {
+        BidScorer scorer = new WeightedBidScorer(0.7, 0.3, RateNormalization.LOWEST_RATE, 10000);
+
+        assertThrows(IllegalArgumentException.class, () -> scorer.withWeights(-0.1, null));
+        assertThrows(IllegalArgumentException.class, () -> scorer.withWeights(0.0, 0.0));
+        assertEquals(1.0 / 5.0, scorer.withWeights(0.0, 1.0).score(1000.0, 1.0, 1000.0), 1e-12);
+    }
+}
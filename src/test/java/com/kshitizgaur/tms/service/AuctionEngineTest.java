@@ -0,0 +1,168 @@
+package com.kshitizgaur.tms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.kshitizgaur.tms.dto.request.BidRequestDTO;
+import com.kshitizgaur.tms.dto.response.BidResponseDTO;
+import com.kshitizgaur.tms.entity.enums.LoadStatus;
+import com.kshitizgaur.tms.exception.DuplicateBidException;
+import com.kshitizgaur.tms.exception.InvalidStatusTransitionException;
+import com.kshitizgaur.tms.repository.BidRepository;
+import com.kshitizgaur.tms.repository.BookingRepository;
+import com.kshitizgaur.tms.repository.projection.BidSubmissionContext;
+
+/**
+ * Unit tests for AuctionEngine.
+ * Tests per-load serialization and the in-memory bid book.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuctionEngineTest {
+
+    @Mock
+    private BidService bidService;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private LoadService loadService;
+
+    @Mock
+    private AwardService awardService;
+
+    @Mock
+    private BidRepository bidRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private AuctionEngine auctionEngine;
+    private UUID loadId;
+
+    @BeforeEach
+    void setUp() {
+        auctionEngine = new AuctionEngine(bidService, bookingService, loadService, awardService, bidRepository,
+                bookingRepository,
+                true, 4, 1000, 100);
+        loadId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        auctionEngine.shutdown();
+    }
+
+    private void stubBook(LoadStatus status, Set<UUID> bidders) {
+        when(bidRepository.findSubmissionContext(eq(loadId), isNull()))
+                .thenReturn(Optional.of(new BidSubmissionContext(loadId, status, "TRAILER", 3,
+                        null, null, null, 0L, false)));
+        when(bidRepository.findTransporterIdsByLoadId(loadId)).thenReturn(bidders);
+    }
+
+    private BidRequestDTO bid(UUID transporterId) {
+        return BidRequestDTO.builder()
+                .loadId(loadId)
+                .transporterId(transporterId)
+                .proposedRate(50000.0)
+                .trucksOffered(1)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should run submissions for the same load one at a time")
+    void submitBid_ShouldSerializeMutationsOfOneLoad() throws Exception {
+        // Arrange
+        stubBook(LoadStatus.POSTED, new HashSet<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(bidService.submitBid(any(BidRequestDTO.class))).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return BidResponseDTO.builder().bidId(UUID.randomUUID()).build();
+        });
+
+        // Act
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<BidResponseDTO>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            BidRequestDTO request = bid(UUID.randomUUID());
+            results.add(callers.submit(() -> auctionEngine.submitBid(request)));
+        }
+        for (Future<BidResponseDTO> result : results) {
+            assertNotNull(result.get());
+        }
+        callers.shutdown();
+
+        // Assert
+        assertEquals(1, maxRunning.get());
+        verify(bidService, times(20)).submitBid(any(BidRequestDTO.class));
+        verify(bidRepository, times(1)).findTransporterIdsByLoadId(loadId);
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate bid from the in-memory book")
+    void submitBid_ShouldRejectDuplicateWithoutService() {
+        // Arrange
+        UUID transporterId = UUID.randomUUID();
+        stubBook(LoadStatus.OPEN_FOR_BIDS, new HashSet<>());
+        when(bidService.submitBid(any(BidRequestDTO.class)))
+                .thenReturn(BidResponseDTO.builder().bidId(UUID.randomUUID()).build());
+
+        // Act
+        auctionEngine.submitBid(bid(transporterId));
+
+        // Assert
+        assertThrows(DuplicateBidException.class, () -> auctionEngine.submitBid(bid(transporterId)));
+        verify(bidService, times(1)).submitBid(any(BidRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a bid on a cancelled load from the in-memory book")
+    void submitBid_ShouldRejectClosedLoadWithoutService() {
+        // Arrange
+        stubBook(LoadStatus.CANCELLED, new HashSet<>());
+
+        // Act & Assert
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> auctionEngine.submitBid(bid(UUID.randomUUID())));
+        verify(bidService, never()).submitBid(any(BidRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should call the service directly when disabled")
+    void submitBid_ShouldDelegateWhenDisabled() {
+        // Arrange
+        AuctionEngine disabled = new AuctionEngine(bidService, bookingService, loadService, awardService,
+                bidRepository, bookingRepository, false, 4, 1000, 100);
+        BidRequestDTO request = bid(UUID.randomUUID());
+        BidResponseDTO response = BidResponseDTO.builder().bidId(UUID.randomUUID()).build();
+        when(bidService.submitBid(request)).thenReturn(response);
+
+        // Act & Assert
+        assertSame(response, disabled.submitBid(request));
+        verifyNoInteractions(bidRepository);
+    }
+}
@@ -0,0 +1,84 @@
+package com.kshitizgaur.tms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.kshitizgaur.tms.entity.enums.AwardObjective;
+import com.kshitizgaur.tms.exception.InsufficientCapacityException;
+import com.kshitizgaur.tms.service.AwardService.Allocation;
+import com.kshitizgaur.tms.service.AwardService.Candidate;
+
+/**
+ * Unit tests for the AwardService solver.
+ */
+class AwardServiceTest {
+
+    @Test
+    @DisplayName("Should fill the load from the highest scores, splitting the last bid")
+    void solve_ShouldMaximizeScore() {
+        Candidate low = new Candidate(UUID.randomUUID(), 5, 40000.0, 0.2);
+        Candidate high = new Candidate(UUID.randomUUID(), 2, 60000.0, 0.3);
+        Candidate mid = new Candidate(UUID.randomUUID(), 2, 50000.0, 0.25);
+
+        List<Allocation> allocations = AwardService.solve(List.of(low, high, mid), 3, AwardObjective.MAX_SCORE);
+
+        assertEquals(2, allocations.size());
+        assertEquals(high, allocations.get(0).candidate());
+        assertEquals(2, allocations.get(0).trucks());
+        assertEquals(mid, allocations.get(1).candidate());
+        assertEquals(1, allocations.get(1).trucks());
+    }
+
+    @Test
+    @DisplayName("Should match an exhaustive search on the minimum cost")
+    void solve_ShouldMatchExhaustiveMinimumCost() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            List<Candidate> candidates = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                candidates.add(new Candidate(UUID.randomUUID(), random.nextInt(4),
+                        10000 + random.nextInt(5) * 1000, random.nextDouble()));
+            }
+            int remaining = 1 + random.nextInt(6);
+            double best = cheapest(candidates, 0, remaining);
+
+            if (best == Double.MAX_VALUE) {
+                assertThrows(InsufficientCapacityException.class,
+                        () -> AwardService.solve(candidates, remaining, AwardObjective.MIN_COST));
+            } else {
+                List<Allocation> allocations = AwardService.solve(candidates, remaining, AwardObjective.MIN_COST);
+                assertEquals(remaining, allocations.stream().mapToInt(Allocation::trucks).sum());
+                assertEquals(best, allocations.stream()
+                        .mapToDouble(a -> a.candidate().rate() * a.trucks()).sum(), 1e-6);
+            }
+        }
+    }
+
+    /**
+     * Cheapest exact fill by trying every allocation.
+     */
+    private static double cheapest(List<Candidate> candidates, int index, int remaining) {
+        if (remaining == 0) {
+            return 0;
+        }
+        if (index == candidates.size()) {
+            return Double.MAX_VALUE;
+        }
+        Candidate candidate = candidates.get(index);
+        double best = Double.MAX_VALUE;
+        for (int trucks = 0; trucks <= Math.min(candidate.maxTrucks(), remaining); trucks++) {
+            double rest = cheapest(candidates, index + 1, remaining - trucks);
+            if (rest != Double.MAX_VALUE) {
+                best = Math.min(best, rest + candidate.rate() * trucks);
+            }
+        }
+        return best;
+    }
+}
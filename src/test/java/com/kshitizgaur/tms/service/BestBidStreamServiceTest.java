@@ -0,0 +1,74 @@
+package com.kshitizgaur.tms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.kshitizgaur.tms.event.LoadChangeType;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
+import com.kshitizgaur.tms.exception.ResourceNotFoundException;
+
+/**
+ * Unit tests for BestBidStreamService.
+ * Tests that no committed change is lost while a subscriber is being added.
+ */
+@ExtendWith(MockitoExtension.class)
+class BestBidStreamServiceTest {
+
+    @Mock
+    private LoadService loadService;
+
+    private BestBidStreamService streamService;
+    private UUID loadId;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new BestBidStreamService(loadService, Duration.ofMillis(10), Duration.ofMinutes(1), 1);
+        loadId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    @Test
+    @DisplayName("A change committed while the first snapshot is read should be pushed")
+    void subscribe_ShouldNotMissChangeDuringSnapshot() {
+        // Arrange: a bid commits while the subscribe snapshot is being read
+        when(loadService.getBestBids(loadId, null)).thenAnswer(invocation -> {
+            streamService.onLoadChanged(LoadChangedEvent.of(loadId, LoadChangeType.BID_SUBMITTED));
+            return List.of();
+        });
+        when(loadService.getBestBids(loadId)).thenReturn(List.of());
+
+        // Act
+        assertNotNull(streamService.subscribe(loadId, null));
+
+        // Assert: the coalescing tick re-reads the ranking for the new subscriber
+        verify(loadService, timeout(2000)).getBestBids(loadId);
+    }
+
+    @Test
+    @DisplayName("A subscription to an unknown load should not stay registered")
+    void subscribe_ShouldUnregisterWhenLoadUnknown() {
+        // Arrange
+        when(loadService.getBestBids(loadId, null)).thenThrow(new ResourceNotFoundException("Load", "loadId", loadId));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> streamService.subscribe(loadId, null));
+        streamService.onLoadChanged(LoadChangedEvent.of(loadId, LoadChangeType.BID_SUBMITTED));
+        verify(loadService, after(200).never()).getBestBids(loadId);
+    }
+}
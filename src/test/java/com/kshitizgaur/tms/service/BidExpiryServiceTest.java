@@ -0,0 +1,134 @@
+package com.kshitizgaur.tms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kshitizgaur.tms.event.LoadChangeType;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
+import com.kshitizgaur.tms.repository.BidRepository;
+import com.kshitizgaur.tms.repository.LoadRepository;
+import com.kshitizgaur.tms.repository.projection.BidExpiry;
+
+/**
+ * Unit tests for BidExpiryService.
+ * Tests scheduling on the timing wheel and batched expiry.
+ */
+@ExtendWith(MockitoExtension.class)
+class BidExpiryServiceTest {
+
+    @Mock
+    private BidRepository bidRepository;
+
+    @Mock
+    private LoadRepository loadRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BidExpiryService bidExpiryService;
+
+    @BeforeEach
+    void setUp() {
+        bidExpiryService = new BidExpiryService(bidRepository, loadRepository, transactionTemplate, eventPublisher,
+                Duration.ofHours(72), Duration.ofHours(1), 64, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bidExpiryService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should use the requested validity or the configured default")
+    void expiresAt_ShouldApplyValidity() {
+        LocalDateTime submittedAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+        assertEquals(submittedAt.plusMinutes(30), bidExpiryService.expiresAt(submittedAt, 30));
+        assertEquals(submittedAt.plusHours(72), bidExpiryService.expiresAt(submittedAt, null));
+    }
+
+    @Test
+    @DisplayName("Should not expire bids without a requested validity when no default is configured")
+    void expiresAt_ShouldNotExpireWithoutValidity() {
+        BidExpiryService noDefault = new BidExpiryService(bidRepository, loadRepository, transactionTemplate,
+                eventPublisher, null, Duration.ofHours(1), 64, 500);
+        LocalDateTime submittedAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+        try {
+            assertNull(noDefault.expiresAt(submittedAt, null));
+            assertEquals(submittedAt.plusMinutes(30), noDefault.expiresAt(submittedAt, 30));
+
+            noDefault.schedule(UUID.randomUUID(), noDefault.expiresAt(submittedAt, null));
+            assertEquals(0, noDefault.scheduledCount());
+        } finally {
+            noDefault.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should expire due bids in one UPDATE and recount their loads")
+    @SuppressWarnings("unchecked")
+    void tick_ShouldExpireDueBidsInBatch() {
+        UUID loadId = UUID.randomUUID();
+        UUID dueBid = UUID.randomUUID();
+        UUID settledBid = UUID.randomUUID();
+        UUID futureBid = UUID.randomUUID();
+        LocalDateTime past = LocalDateTime.now().minusHours(2);
+
+        bidExpiryService.schedule(dueBid, past);
+        bidExpiryService.schedule(settledBid, past);
+        bidExpiryService.schedule(futureBid, LocalDateTime.now().plusDays(1));
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+        // settledBid was accepted meanwhile, so it is no longer returned as due
+        when(bidRepository.findDueExpiries(eq(List.of(dueBid, settledBid)), any()))
+                .thenReturn(List.of(new BidExpiry(dueBid, loadId, past)));
+        when(bidRepository.expireBids(List.of(dueBid))).thenReturn(1);
+
+        bidExpiryService.tick();
+
+        verify(loadRepository).recountPendingBids(Set.of(loadId));
+        ArgumentCaptor<LoadChangedEvent> event = ArgumentCaptor.forClass(LoadChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(LoadChangeType.BID_EXPIRED, event.getValue().getType());
+        assertEquals(dueBid, event.getValue().getBidId());
+        assertEquals(1, bidExpiryService.scheduledCount());
+    }
+
+    @Test
+    @DisplayName("Should keep bids for the next tick when expiry fails")
+    void tick_ShouldRetryBatch_WhenExpiryFails() {
+        bidExpiryService.schedule(UUID.randomUUID(), LocalDateTime.now().minusHours(2));
+        when(transactionTemplate.execute(any())).thenThrow(new IllegalStateException("database down"));
+
+        bidExpiryService.tick();
+
+        assertEquals(1, bidExpiryService.scheduledCount());
+        verify(bidRepository, never()).expireBids(anyCollection());
+    }
+}
@@ -2,9 +2,12 @@ package com.kshitizgaur.tms.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,9 +18,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import com.kshitizgaur.tms.dto.request.BidRequestDTO;
 import com.kshitizgaur.tms.dto.response.BidResponseDTO;
+import com.kshitizgaur.tms.dto.response.CursorPageDTO;
 import com.kshitizgaur.tms.entity.AvailableTruck;
 import com.kshitizgaur.tms.entity.Bid;
 import com.kshitizgaur.tms.entity.Load;
@@ -25,10 +34,14 @@ import com.kshitizgaur.tms.entity.Transporter;
 import com.kshitizgaur.tms.entity.enums.BidStatus;
 import com.kshitizgaur.tms.entity.enums.LoadStatus;
 import com.kshitizgaur.tms.entity.enums.WeightUnit;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
 import com.kshitizgaur.tms.exception.DuplicateBidException;
 import com.kshitizgaur.tms.exception.InsufficientCapacityException;
 import com.kshitizgaur.tms.exception.InvalidStatusTransitionException;
+import com.kshitizgaur.tms.exception.ResourceNotFoundException;
 import com.kshitizgaur.tms.repository.BidRepository;
+import com.kshitizgaur.tms.repository.projection.BidSubmissionContext;
+import com.kshitizgaur.tms.util.KeysetCursor;
 
 /**
  * Unit tests for BidService.
@@ -46,6 +59,12 @@ class BidServiceTest {
     @Mock
     private TransporterService transporterService;
 
+    @Mock
+    private BidExpiryService bidExpiryService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BidService bidService;
 
@@ -88,6 +107,11 @@ class BidServiceTest {
         testTransporter.addAvailableTruck(truck);
     }
 
+    private BidSubmissionContext context(LoadStatus status, boolean alreadyBid) {
+        return new BidSubmissionContext(loadId, status, "TRAILER", 3,
+                transporterId, "ABC Transport", 4.5, 10L, alreadyBid);
+    }
+
     @Test
     @DisplayName("Should submit bid successfully when all validations pass")
     void submitBid_ShouldSucceed_WhenValidRequest() {
@@ -108,12 +132,11 @@ class BidServiceTest {
                 .status(BidStatus.PENDING)
                 .build();
 
-        when(loadService.findById(loadId)).thenReturn(testLoad);
-        when(transporterService.findById(transporterId)).thenReturn(testTransporter);
-        when(bidRepository.existsByLoadLoadIdAndTransporterTransporterId(loadId, transporterId)).thenReturn(false);
-        when(loadService.getRemainingTrucks(loadId)).thenReturn(3);
+        when(bidRepository.findSubmissionContext(loadId, transporterId))
+                .thenReturn(Optional.of(context(LoadStatus.POSTED, false)));
+        when(loadService.getReference(loadId)).thenReturn(testLoad);
+        when(transporterService.getReference(transporterId)).thenReturn(testTransporter);
         when(bidRepository.save(any(Bid.class))).thenReturn(savedBid);
-        doNothing().when(loadService).transitionToOpenForBids(loadId);
 
         // Act
         BidResponseDTO result = bidService.submitBid(request);
@@ -122,15 +145,15 @@ class BidServiceTest {
         assertNotNull(result);
         assertEquals(BidStatus.PENDING, result.getStatus());
         assertEquals(50000.0, result.getProposedRate());
-        verify(loadService).transitionToOpenForBids(loadId);
+        assertEquals("ABC Transport", result.getTransporterName());
+        verify(loadService).registerBid(loadId);
+        verify(eventPublisher).publishEvent(any(LoadChangedEvent.class));
     }
 
     @Test
     @DisplayName("Should throw exception when bidding on CANCELLED load - Rule 2")
     void submitBid_ShouldThrowException_WhenLoadCancelled() {
         // Arrange
-        testLoad.setStatus(LoadStatus.CANCELLED);
-
         BidRequestDTO request = BidRequestDTO.builder()
                 .loadId(loadId)
                 .transporterId(transporterId)
@@ -138,7 +161,8 @@ class BidServiceTest {
                 .trucksOffered(2)
                 .build();
 
-        when(loadService.findById(loadId)).thenReturn(testLoad);
+        when(bidRepository.findSubmissionContext(loadId, transporterId))
+                .thenReturn(Optional.of(context(LoadStatus.CANCELLED, false)));
 
         // Act & Assert
         assertThrows(InvalidStatusTransitionException.class, () -> bidService.submitBid(request));
@@ -148,8 +172,6 @@ class BidServiceTest {
     @DisplayName("Should throw exception when bidding on BOOKED load - Rule 2")
     void submitBid_ShouldThrowException_WhenLoadBooked() {
         // Arrange
-        testLoad.setStatus(LoadStatus.BOOKED);
-
         BidRequestDTO request = BidRequestDTO.builder()
                 .loadId(loadId)
                 .transporterId(transporterId)
@@ -157,7 +179,8 @@ class BidServiceTest {
                 .trucksOffered(2)
                 .build();
 
-        when(loadService.findById(loadId)).thenReturn(testLoad);
+        when(bidRepository.findSubmissionContext(loadId, transporterId))
+                .thenReturn(Optional.of(context(LoadStatus.BOOKED, false)));
 
         // Act & Assert
         assertThrows(InvalidStatusTransitionException.class, () -> bidService.submitBid(request));
@@ -174,10 +197,8 @@ class BidServiceTest {
                 .trucksOffered(15) // More than available (10)
                 .build();
 
-        when(loadService.findById(loadId)).thenReturn(testLoad);
-        when(transporterService.findById(transporterId)).thenReturn(testTransporter);
-        when(bidRepository.existsByLoadLoadIdAndTransporterTransporterId(loadId, transporterId)).thenReturn(false);
-        when(loadService.getRemainingTrucks(loadId)).thenReturn(3);
+        when(bidRepository.findSubmissionContext(loadId, transporterId))
+                .thenReturn(Optional.of(context(LoadStatus.POSTED, false)));
 
         // Act & Assert
         assertThrows(InsufficientCapacityException.class, () -> bidService.submitBid(request));
@@ -194,14 +215,85 @@ class BidServiceTest {
                 .trucksOffered(2)
                 .build();
 
-        when(loadService.findById(loadId)).thenReturn(testLoad);
-        when(transporterService.findById(transporterId)).thenReturn(testTransporter);
-        when(bidRepository.existsByLoadLoadIdAndTransporterTransporterId(loadId, transporterId)).thenReturn(true);
+        when(bidRepository.findSubmissionContext(loadId, transporterId))
+                .thenReturn(Optional.of(context(LoadStatus.OPEN_FOR_BIDS, true)));
 
         // Act & Assert
         assertThrows(DuplicateBidException.class, () -> bidService.submitBid(request));
     }
 
+    @Test
+    @DisplayName("Should throw exception when transporter does not exist")
+    void submitBid_ShouldThrowException_WhenTransporterMissing() {
+        // Arrange
+        BidRequestDTO request = BidRequestDTO.builder()
+                .loadId(loadId)
+                .transporterId(transporterId)
+                .proposedRate(50000.0)
+                .trucksOffered(2)
+                .build();
+
+        when(bidRepository.findSubmissionContext(loadId, transporterId))
+                .thenReturn(Optional.of(new BidSubmissionContext(loadId, LoadStatus.POSTED, "TRAILER", 3,
+                        null, null, null, 0L, false)));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> bidService.submitBid(request));
+        verify(loadService, never()).registerBid(any());
+    }
+
+    @Test
+    @DisplayName("Should not insert bid when load closed after validation")
+    void submitBid_ShouldThrowException_WhenLoadClosedConcurrently() {
+        // Arrange
+        BidRequestDTO request = BidRequestDTO.builder()
+                .loadId(loadId)
+                .transporterId(transporterId)
+                .proposedRate(50000.0)
+                .trucksOffered(2)
+                .build();
+
+        when(bidRepository.findSubmissionContext(loadId, transporterId))
+                .thenReturn(Optional.of(context(LoadStatus.OPEN_FOR_BIDS, false)));
+        doThrow(new InvalidStatusTransitionException("Load " + loadId + " is no longer open for bids"))
+                .when(loadService).registerBid(loadId);
+
+        // Act & Assert
+        assertThrows(InvalidStatusTransitionException.class, () -> bidService.submitBid(request));
+        verify(bidRepository, never()).save(any(Bid.class));
+    }
+
+    @Test
+    @DisplayName("Should cap page size and return a cursor when more bids exist")
+    void getBids_ShouldReturnBoundedPageWithCursor() {
+        // Arrange
+        List<Bid> bids = new ArrayList<>();
+        LocalDateTime submittedAt = LocalDateTime.now();
+        for (int i = 0; i < LoadService.MAX_SCROLL_SIZE; i++) {
+            bids.add(Bid.builder()
+                    .bidId(UUID.randomUUID())
+                    .load(testLoad)
+                    .transporter(testTransporter)
+                    .status(BidStatus.PENDING)
+                    .submittedAt(submittedAt.minusSeconds(i))
+                    .build());
+        }
+        when(bidRepository.findByLoadLoadId(eq(loadId), eq(ScrollPosition.keyset()),
+                eq(Limit.of(LoadService.MAX_SCROLL_SIZE)), any(Sort.class)))
+                .thenReturn(Window.from(bids, ScrollPosition::offset, true));
+
+        // Act
+        CursorPageDTO<BidResponseDTO> page = bidService.getBids(loadId, null, null, null, 10_000);
+
+        // Assert
+        assertEquals(LoadService.MAX_SCROLL_SIZE, page.getSize());
+        assertTrue(page.isHasMore());
+        Bid last = bids.get(LoadService.MAX_SCROLL_SIZE - 1);
+        KeysetCursor.Key next = KeysetCursor.decodeKey(page.getNextCursor());
+        assertEquals(last.getSubmittedAt(), next.timestamp());
+        assertEquals(last.getBidId(), next.id());
+    }
+
     @Test
     @DisplayName("Should reject bid successfully")
     void rejectBid_ShouldSucceed_WhenBidPending() {
@@ -224,6 +316,7 @@ class BidServiceTest {
 
         // Assert
         assertEquals(BidStatus.REJECTED, bid.getStatus());
+        verify(loadService).adjustPendingBidCount(loadId, -1);
     }
 
     @Test
@@ -245,4 +338,28 @@ class BidServiceTest {
         // Act & Assert
         assertThrows(InvalidStatusTransitionException.class, () -> bidService.rejectBid(bidId));
     }
+
+    @Test
+    @DisplayName("Should not reject a bid whose validity window has ended")
+    void rejectBid_ShouldThrowException_WhenBidPastExpiry() {
+        // Arrange
+        UUID bidId = UUID.randomUUID();
+        Bid bid = Bid.builder()
+                .bidId(bidId)
+                .load(testLoad)
+                .transporter(testTransporter)
+                .proposedRate(50000.0)
+                .trucksOffered(2)
+                .status(BidStatus.PENDING)
+                .expiresAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+
+        when(bidRepository.findByIdWithDetails(bidId)).thenReturn(Optional.of(bid));
+
+        // Act & Assert
+        InvalidStatusTransitionException ex = assertThrows(InvalidStatusTransitionException.class,
+                () -> bidService.rejectBid(bidId));
+        assertTrue(ex.getMessage().contains("EXPIRED"));
+        verify(loadService, never()).adjustPendingBidCount(any(), anyInt());
+    }
 }
@@ -2,10 +2,17 @@ package com.kshitizgaur.tms.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -15,9 +22,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import com.kshitizgaur.tms.allocation.LoadAllocator;
+import com.kshitizgaur.tms.dto.request.BatchBookingRequestDTO;
 import com.kshitizgaur.tms.dto.request.BookingRequestDTO;
+import com.kshitizgaur.tms.dto.response.BatchBookingResponseDTO;
 import com.kshitizgaur.tms.dto.response.BookingResponseDTO;
+import com.kshitizgaur.tms.dto.response.CursorPageDTO;
 import com.kshitizgaur.tms.entity.AvailableTruck;
 import com.kshitizgaur.tms.entity.Bid;
 import com.kshitizgaur.tms.entity.Booking;
@@ -27,11 +43,13 @@ import com.kshitizgaur.tms.entity.enums.BidStatus;
 import com.kshitizgaur.tms.entity.enums.BookingStatus;
 import com.kshitizgaur.tms.entity.enums.LoadStatus;
 import com.kshitizgaur.tms.entity.enums.WeightUnit;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
 import com.kshitizgaur.tms.exception.InsufficientCapacityException;
 import com.kshitizgaur.tms.exception.InvalidStatusTransitionException;
 import com.kshitizgaur.tms.exception.LoadAlreadyBookedException;
 import com.kshitizgaur.tms.repository.AvailableTruckRepository;
 import com.kshitizgaur.tms.repository.BookingRepository;
+import com.kshitizgaur.tms.util.KeysetCursor;
 
 /**
  * Unit tests for BookingService.
@@ -56,6 +74,12 @@ class BookingServiceTest {
     @Mock
     private TransporterService transporterService;
 
+    @Mock
+    private LoadAllocator loadAllocator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -132,10 +156,7 @@ class BookingServiceTest {
 
         when(bidService.findById(bidId)).thenReturn(testBid);
         when(bookingRepository.existsByBidBidId(bidId)).thenReturn(false);
-        when(loadService.getRemainingTrucks(loadId)).thenReturn(3);
-        when(availableTruckRepository.findByTransporterTransporterIdAndTruckType(transporterId, "TRAILER"))
-                .thenReturn(Optional.of(testTruck));
-        when(availableTruckRepository.save(any(AvailableTruck.class))).thenReturn(testTruck);
+        when(availableTruckRepository.deductTrucks(transporterId, "TRAILER", 2)).thenReturn(1);
         when(bookingRepository.save(any(Booking.class))).thenReturn(savedBooking);
         doNothing().when(loadService).checkAndUpdateLoadStatus(loadId);
 
@@ -146,8 +167,11 @@ class BookingServiceTest {
         assertNotNull(result);
         assertEquals(BookingStatus.CONFIRMED, result.getStatus());
         assertEquals(2, result.getAllocatedTrucks());
-        assertEquals(8, testTruck.getCount()); // 10 - 2 = 8
-        verify(availableTruckRepository).save(testTruck);
+        verify(availableTruckRepository).deductTrucks(transporterId, "TRAILER", 2);
+        verify(availableTruckRepository, never()).save(any(AvailableTruck.class));
+        verify(loadAllocator).allocate(testLoad, 2);
+        verify(loadService).adjustPendingBidCount(loadId, -1);
+        verify(eventPublisher).publishEvent(any(LoadChangedEvent.class));
     }
 
     @Test
@@ -193,12 +217,77 @@ class BookingServiceTest {
 
         when(bidService.findById(bidId)).thenReturn(testBid);
         when(bookingRepository.existsByBidBidId(bidId)).thenReturn(false);
-        when(loadService.getRemainingTrucks(loadId)).thenReturn(5);
+        when(availableTruckRepository.deductTrucks(transporterId, "TRAILER", 5)).thenReturn(0);
         when(availableTruckRepository.findByTransporterTransporterIdAndTruckType(transporterId, "TRAILER"))
                 .thenReturn(Optional.of(testTruck));
 
         // Act & Assert
-        assertThrows(InsufficientCapacityException.class, () -> bookingService.createBooking(request));
+        InsufficientCapacityException ex = assertThrows(InsufficientCapacityException.class,
+                () -> bookingService.createBooking(request));
+        assertTrue(ex.getMessage().contains("Available: 1"));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Should book a batch with one allocation, one capacity batch and one status check")
+    void createBookings_ShouldAllocateOnceForBatch() {
+        // Arrange
+        Transporter otherTransporter = Transporter.builder()
+                .transporterId(UUID.randomUUID())
+                .companyName("XYZ Transport")
+                .rating(4.0)
+                .availableTrucks(new ArrayList<>())
+                .build();
+        Bid otherBid = Bid.builder()
+                .bidId(UUID.randomUUID())
+                .load(testLoad)
+                .transporter(otherTransporter)
+                .proposedRate(52000.0)
+                .trucksOffered(1)
+                .status(BidStatus.PENDING)
+                .build();
+        BatchBookingRequestDTO request = new BatchBookingRequestDTO(loadId, List.of(
+                new BookingRequestDTO(bidId, null),
+                new BookingRequestDTO(otherBid.getBidId(), null)));
+
+        when(bidService.findAllById(Set.of(bidId, otherBid.getBidId())))
+                .thenReturn(Map.of(bidId, testBid, otherBid.getBidId(), otherBid));
+        when(bookingRepository.findBookedBidIds(Set.of(bidId, otherBid.getBidId()))).thenReturn(List.of());
+        when(availableTruckRepository.deductTrucksInBatch("TRAILER",
+                Map.of(transporterId, 2, otherTransporter.getTransporterId(), 1))).thenReturn(List.of());
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        BatchBookingResponseDTO result = bookingService.createBookings(request);
+
+        // Assert
+        assertEquals(3, result.getTrucksAllocated());
+        assertEquals(2, result.getBookings().size());
+        assertEquals(BidStatus.ACCEPTED, testBid.getStatus());
+        assertEquals(BidStatus.ACCEPTED, otherBid.getStatus());
+        verify(loadAllocator).allocate(testLoad, 3);
+        verify(loadService).adjustPendingBidCount(loadId, -2);
+        verify(loadService).checkAndUpdateLoadStatus(loadId);
+        verify(availableTruckRepository, never()).deductTrucks(any(), any(), anyInt());
+        verify(eventPublisher, times(2)).publishEvent(any(LoadChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a batch that names a bid twice or a bid of another load")
+    void createBookings_ShouldRejectInvalidBatch() {
+        BatchBookingRequestDTO duplicate = new BatchBookingRequestDTO(loadId, List.of(
+                new BookingRequestDTO(bidId, 1),
+                new BookingRequestDTO(bidId, 1)));
+        assertThrows(IllegalArgumentException.class, () -> bookingService.createBookings(duplicate));
+
+        BatchBookingRequestDTO otherLoad = new BatchBookingRequestDTO(UUID.randomUUID(), List.of(
+                new BookingRequestDTO(bidId, null)));
+        when(bidService.findAllById(Set.of(bidId))).thenReturn(Map.of(bidId, testBid));
+        when(bookingRepository.findBookedBidIds(Set.of(bidId))).thenReturn(List.of());
+        assertThrows(IllegalArgumentException.class, () -> bookingService.createBookings(otherLoad));
+
+        verifyNoInteractions(loadAllocator);
+        verify(bookingRepository, never()).saveAll(anyList());
     }
 
     @Test
@@ -206,7 +295,6 @@ class BookingServiceTest {
     void cancelBooking_ShouldRestoreTrucks() {
         // Arrange
         UUID bookingId = UUID.randomUUID();
-        testTruck.setCount(8); // After booking was created
 
         Booking booking = Booking.builder()
                 .bookingId(bookingId)
@@ -219,9 +307,7 @@ class BookingServiceTest {
                 .build();
 
         when(bookingRepository.findByIdWithDetails(bookingId)).thenReturn(Optional.of(booking));
-        when(availableTruckRepository.findByTransporterTransporterIdAndTruckType(transporterId, "TRAILER"))
-                .thenReturn(Optional.of(testTruck));
-        when(availableTruckRepository.save(any(AvailableTruck.class))).thenReturn(testTruck);
+        when(availableTruckRepository.restoreTrucks(transporterId, "TRAILER", 2)).thenReturn(1);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
         doNothing().when(loadService).revertLoadStatusIfNeeded(loadId);
 
@@ -230,8 +316,10 @@ class BookingServiceTest {
 
         // Assert
         assertEquals(BookingStatus.CANCELLED, booking.getStatus());
-        assertEquals(10, testTruck.getCount()); // 8 + 2 = 10 (restored)
+        verify(availableTruckRepository).restoreTrucks(transporterId, "TRAILER", 2);
+        verify(loadService).adjustAllocatedTrucks(loadId, -2);
         verify(loadService).revertLoadStatusIfNeeded(loadId);
+        verify(eventPublisher).publishEvent(any(LoadChangedEvent.class));
     }
 
     @Test
@@ -254,4 +342,36 @@ class BookingServiceTest {
         // Act & Assert
         assertThrows(InvalidStatusTransitionException.class, () -> bookingService.cancelBooking(bookingId));
     }
+
+    @Test
+    @DisplayName("Should page unfiltered bookings with a capped size and a cursor")
+    void getBookings_ShouldReturnBoundedPageWithCursor() {
+        // Arrange
+        List<Booking> bookings = new ArrayList<>();
+        LocalDateTime bookedAt = LocalDateTime.now();
+        for (int i = 0; i < LoadService.MAX_SCROLL_SIZE; i++) {
+            bookings.add(Booking.builder()
+                    .bookingId(UUID.randomUUID())
+                    .load(testLoad)
+                    .bid(testBid)
+                    .transporter(testTransporter)
+                    .status(BookingStatus.CONFIRMED)
+                    .bookedAt(bookedAt.minusSeconds(i))
+                    .build());
+        }
+        when(bookingRepository.findAllBy(eq(ScrollPosition.keyset()), eq(Limit.of(LoadService.MAX_SCROLL_SIZE)),
+                any(Sort.class)))
+                .thenReturn(Window.from(bookings, ScrollPosition::offset, true));
+
+        // Act
+        CursorPageDTO<BookingResponseDTO> page = bookingService.getBookings(null, null, null, null, 10_000);
+
+        // Assert
+        assertEquals(LoadService.MAX_SCROLL_SIZE, page.getSize());
+        assertTrue(page.isHasMore());
+        Booking last = bookings.get(LoadService.MAX_SCROLL_SIZE - 1);
+        KeysetCursor.Key next = KeysetCursor.decodeKey(page.getNextCursor());
+        assertEquals(last.getBookedAt(), next.timestamp());
+        assertEquals(last.getBookingId(), next.id());
+    }
 }
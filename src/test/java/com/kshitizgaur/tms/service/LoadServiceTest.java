@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,14 +17,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import com.kshitizgaur.tms.cache.BidRankingCache;
+import com.kshitizgaur.tms.cache.LoadDetailsCache;
 import com.kshitizgaur.tms.dto.request.LoadRequestDTO;
 import com.kshitizgaur.tms.dto.response.BestBidDTO;
+import com.kshitizgaur.tms.dto.response.BidRankDTO;
+import com.kshitizgaur.tms.dto.response.BidRejectionDTO;
 import com.kshitizgaur.tms.dto.response.LoadResponseDTO;
 import com.kshitizgaur.tms.dto.response.LoadWithBidsDTO;
 import com.kshitizgaur.tms.entity.Bid;
@@ -32,11 +39,16 @@ import com.kshitizgaur.tms.entity.Transporter;
 import com.kshitizgaur.tms.entity.enums.BidStatus;
 import com.kshitizgaur.tms.entity.enums.LoadStatus;
 import com.kshitizgaur.tms.entity.enums.WeightUnit;
+import com.kshitizgaur.tms.event.LoadChangeType;
+import com.kshitizgaur.tms.event.LoadChangedEvent;
 import com.kshitizgaur.tms.exception.InvalidStatusTransitionException;
 import com.kshitizgaur.tms.exception.ResourceNotFoundException;
 import com.kshitizgaur.tms.repository.BidRepository;
 import com.kshitizgaur.tms.repository.BookingRepository;
 import com.kshitizgaur.tms.repository.LoadRepository;
+import com.kshitizgaur.tms.scoring.BidScorer;
+import com.kshitizgaur.tms.scoring.RateNormalization;
+import com.kshitizgaur.tms.scoring.WeightedBidScorer;
 
 /**
  * Unit tests for LoadService.
@@ -53,6 +65,18 @@ class LoadServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private LoadDetailsCache loadDetailsCache = new LoadDetailsCache(100, Duration.ofMinutes(1));
+
+    @Spy
+    private BidRankingCache bidRankingCache = new BidRankingCache(100);
+
+    @Spy
+    private BidScorer bidScorer = new WeightedBidScorer(0.7, 0.3, RateNormalization.LOWEST_RATE, 10000);
+
     @InjectMocks
     private LoadService loadService;
 
@@ -114,9 +138,10 @@ class LoadServiceTest {
         List<Load> loads = List.of(testLoad);
         Page<Load> loadPage = new PageImpl<>(loads, pageable, 1);
 
+        testLoad.setAllocatedTrucks(1);
+        testLoad.setPendingBidCount(2);
+
         when(loadRepository.findAll(pageable)).thenReturn(loadPage);
-        when(bookingRepository.sumAllocatedTrucksByLoadId(any())).thenReturn(0);
-        when(bidRepository.countPendingBidsByLoadId(any())).thenReturn(0);
 
         // Act
         Page<LoadResponseDTO> result = loadService.getLoads(null, null, pageable);
@@ -124,6 +149,9 @@ class LoadServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
+        assertEquals(2, result.getContent().get(0).getRemainingTrucks());
+        assertEquals(2, result.getContent().get(0).getActiveBidsCount());
+        verifyNoInteractions(bookingRepository, bidRepository);
     }
 
     @Test
@@ -159,7 +187,6 @@ class LoadServiceTest {
         testLoad.getBids().add(bid);
 
         when(loadRepository.findByIdWithBids(testLoadId)).thenReturn(Optional.of(testLoad));
-        when(bookingRepository.sumAllocatedTrucksByLoadId(testLoadId)).thenReturn(0);
 
         // Act
         LoadWithBidsDTO result = loadService.getLoadById(testLoadId);
@@ -170,6 +197,23 @@ class LoadServiceTest {
         assertEquals(3, result.getRemainingTrucks());
     }
 
+    @Test
+    @DisplayName("Should serve repeated reads from cache until the load changes")
+    void getLoadById_ShouldUseCacheUntilInvalidated() {
+        // Arrange
+        when(loadRepository.findByIdWithBids(testLoadId)).thenReturn(Optional.of(testLoad));
+
+        // Act
+        loadService.getLoadById(testLoadId);
+        loadService.getLoadById(testLoadId);
+        loadDetailsCache.onLoadChanged(LoadChangedEvent.of(testLoadId, LoadChangeType.BID_SUBMITTED));
+        loadService.getLoadById(testLoadId);
+
+        // Assert
+        verify(loadRepository, times(2)).findByIdWithBids(testLoadId);
+        assertEquals(1, loadDetailsCache.stats().hitCount());
+    }
+
     @Test
     @DisplayName("Should cancel load with POSTED status")
     void cancelLoad_ShouldCancelPostedLoad() {
@@ -183,6 +227,7 @@ class LoadServiceTest {
         // Assert
         assertEquals(LoadStatus.CANCELLED, testLoad.getStatus());
         verify(loadRepository, times(1)).save(testLoad);
+        verify(eventPublisher).publishEvent(any(LoadChangedEvent.class));
     }
 
     @Test
@@ -244,17 +289,183 @@ class LoadServiceTest {
     }
 
     @Test
-    @DisplayName("Should transition load to OPEN_FOR_BIDS")
-    void transitionToOpenForBids_ShouldUpdateStatus() {
+    @DisplayName("Should answer top-K and rank queries from the cached ranking")
+    void getBestBids_ShouldServeTopKAndRankFromRanking() {
         // Arrange
-        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(testLoad));
-        when(loadRepository.save(any(Load.class))).thenReturn(testLoad);
+        Transporter transporter = Transporter.builder()
+                .transporterId(UUID.randomUUID())
+                .companyName("ABC Transport")
+                .rating(4.0)
+                .build();
+
+        List<Bid> bids = new ArrayList<>();
+        for (double rate : new double[] { 50000.0, 30000.0, 40000.0 }) {
+            bids.add(Bid.builder()
+                    .bidId(UUID.randomUUID())
+                    .load(testLoad)
+                    .transporter(transporter)
+                    .proposedRate(rate)
+                    .trucksOffered(1)
+                    .status(BidStatus.PENDING)
+                    .build());
+        }
+
+        when(loadRepository.existsById(testLoadId)).thenReturn(true);
+        when(bidRepository.findPendingBidsByLoadId(testLoadId)).thenReturn(bids);
 
         // Act
-        loadService.transitionToOpenForBids(testLoadId);
+        List<BestBidDTO> top = loadService.getBestBids(testLoadId, 2);
+        BidRankDTO rank = loadService.getBidRank(testLoadId, bids.get(0).getBidId());
 
         // Assert
-        assertEquals(LoadStatus.OPEN_FOR_BIDS, testLoad.getStatus());
+        assertEquals(2, top.size());
+        assertEquals(bids.get(1).getBidId(), top.get(0).getBidId());
+        assertEquals(bids.get(2).getBidId(), top.get(1).getBidId());
+        assertEquals(3, rank.getRank());
+        assertEquals(3, rank.getTotalBids());
+        verify(bidRepository, times(1)).findPendingBidsByLoadId(testLoadId);
+        assertThrows(IllegalArgumentException.class, () -> loadService.getBestBids(testLoadId, 0));
+    }
+
+    @Test
+    @DisplayName("Should rank submitted bids from the event and not re-add a removed bid")
+    void onLoadChanged_ShouldRankSubmittedBidsWithoutQuery() {
+        // Arrange
+        Transporter transporter = Transporter.builder()
+                .transporterId(UUID.randomUUID())
+                .companyName("ABC Transport")
+                .rating(4.0)
+                .build();
+
+        Bid existing = Bid.builder()
+                .bidId(UUID.randomUUID())
+                .load(testLoad)
+                .transporter(transporter)
+                .proposedRate(40000.0)
+                .trucksOffered(1)
+                .status(BidStatus.PENDING)
+                .build();
+
+        when(loadRepository.existsById(testLoadId)).thenReturn(true);
+        when(bidRepository.findPendingBidsByLoadId(testLoadId)).thenReturn(List.of(existing));
+        loadService.getBestBids(testLoadId, null);
+
+        BestBidDTO submitted = BestBidDTO.builder()
+                .bidId(UUID.randomUUID())
+                .loadId(testLoadId)
+                .transporterRating(4.0)
+                .proposedRate(35000.0)
+                .trucksOffered(1)
+                .status(BidStatus.PENDING)
+                .build();
+        BestBidDTO rejected = submitted.toBuilder().bidId(UUID.randomUUID()).proposedRate(30000.0).build();
+
+        // Act: the rejection's listener runs before the submission's
+        bidRankingCache.onLoadChanged(LoadChangedEvent.bidSubmitted(submitted));
+        bidRankingCache.onLoadChanged(LoadChangedEvent.of(testLoadId, LoadChangeType.BID_REJECTED, rejected.getBidId()));
+        bidRankingCache.onLoadChanged(LoadChangedEvent.bidSubmitted(rejected));
+        List<BestBidDTO> top = loadService.getBestBids(testLoadId, null);
+
+        // Assert
+        assertEquals(2, top.size());
+        assertEquals(submitted.getBidId(), top.get(0).getBidId());
+        assertEquals(existing.getBidId(), top.get(1).getBidId());
+        verify(bidRepository, times(1)).findPendingBidsByLoadId(testLoadId);
+        verifyNoMoreInteractions(bidRepository);
+    }
+
+    @Test
+    @DisplayName("Should hand out best bids that a later re-score does not change")
+    void getBestBids_ShouldReturnSnapshotsAcrossRescore() {
+        // Arrange
+        Transporter transporter = Transporter.builder()
+                .transporterId(UUID.randomUUID())
+                .companyName("ABC Transport")
+                .rating(4.0)
+                .build();
+
+        Bid existing = Bid.builder()
+                .bidId(UUID.randomUUID())
+                .load(testLoad)
+                .transporter(transporter)
+                .proposedRate(40000.0)
+                .trucksOffered(1)
+                .status(BidStatus.PENDING)
+                .build();
+
+        when(loadRepository.existsById(testLoadId)).thenReturn(true);
+        when(bidRepository.findPendingBidsByLoadId(testLoadId)).thenReturn(List.of(existing));
+        BestBidDTO before = loadService.getBestBids(testLoadId, null).get(0);
+        double scoreBefore = before.getScore();
+
+        BestBidDTO cheaper = BestBidDTO.builder()
+                .bidId(UUID.randomUUID())
+                .loadId(testLoadId)
+                .transporterRating(4.0)
+                .proposedRate(20000.0)
+                .trucksOffered(1)
+                .status(BidStatus.PENDING)
+                .build();
+
+        // Act: a new lowest rate re-scores every bid of the load
+        bidRankingCache.onLoadChanged(LoadChangedEvent.bidSubmitted(cheaper));
+        List<BestBidDTO> after = loadService.getBestBids(testLoadId, null);
+
+        // Assert
+        assertEquals(scoreBefore, before.getScore(), 0.0);
+        assertEquals(cheaper.getBidId(), after.get(0).getBidId());
+        assertTrue(after.get(1).getScore() < scoreBefore);
+        assertNull(cheaper.getScore());
+    }
+
+    @Test
+    @DisplayName("Should re-rank with custom weights without changing the shared ranking")
+    void getBestBids_ShouldApplyCustomWeights() {
+        // Arrange
+        Transporter budget = Transporter.builder()
+                .transporterId(UUID.randomUUID())
+                .companyName("Budget Transport")
+                .rating(2.0)
+                .build();
+
+        Transporter premium = Transporter.builder()
+                .transporterId(UUID.randomUUID())
+                .companyName("Premium Transport")
+                .rating(5.0)
+                .build();
+
+        Bid cheapBid = Bid.builder()
+                .bidId(UUID.randomUUID())
+                .load(testLoad)
+                .transporter(budget)
+                .proposedRate(30000.0)
+                .trucksOffered(1)
+                .status(BidStatus.PENDING)
+                .build();
+
+        Bid premiumBid = Bid.builder()
+                .bidId(UUID.randomUUID())
+                .load(testLoad)
+                .transporter(premium)
+                .proposedRate(60000.0)
+                .trucksOffered(1)
+                .status(BidStatus.PENDING)
+                .build();
+
+        when(loadRepository.existsById(testLoadId)).thenReturn(true);
+        when(bidRepository.findPendingBidsByLoadId(testLoadId)).thenReturn(List.of(premiumBid, cheapBid));
+
+        // Act
+        List<BestBidDTO> byDefault = loadService.getBestBids(testLoadId, null, null, null);
+        List<BestBidDTO> byRating = loadService.getBestBids(testLoadId, 1, 0.1, 0.9);
+
+        // Assert: the cheapest bid's rate scores 1.0 against the load's lowest rate
+        assertEquals(cheapBid.getBidId(), byDefault.get(0).getBidId());
+        assertEquals(0.7 + 0.3 * 2.0 / 5.0, byDefault.get(0).getScore(), 1e-9);
+        assertEquals(1, byRating.size());
+        assertEquals(premiumBid.getBidId(), byRating.get(0).getBidId());
+        assertEquals(cheapBid.getBidId(), loadService.getBestBids(testLoadId, 1).get(0).getBidId());
+        assertThrows(IllegalArgumentException.class, () -> loadService.getBestBids(testLoadId, null, -1.0, 1.0));
     }
 
     @Test
@@ -263,7 +474,7 @@ class LoadServiceTest {
         // Arrange
         testLoad.setStatus(LoadStatus.OPEN_FOR_BIDS);
         when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(testLoad));
-        when(bookingRepository.sumAllocatedTrucksByLoadId(testLoadId)).thenReturn(3); // All 3 trucks allocated
+        when(loadRepository.findRemainingTrucks(testLoadId)).thenReturn(Optional.of(0)); // All 3 trucks allocated
         when(loadRepository.save(any(Load.class))).thenReturn(testLoad);
 
         // Act
@@ -272,4 +483,52 @@ class LoadServiceTest {
         // Assert
         assertEquals(LoadStatus.BOOKED, testLoad.getStatus());
     }
+
+    @Test
+    @DisplayName("Should reject pending bids and reset counter when load is cancelled")
+    void cancelLoad_ShouldRejectPendingBidsAndAdjustCounter() {
+        // Arrange
+        testLoad.setPendingBidCount(800);
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(testLoad));
+        when(loadRepository.save(any(Load.class))).thenReturn(testLoad);
+        when(bidRepository.rejectPendingBids(testLoadId)).thenReturn(800);
+
+        // Act
+        loadService.cancelLoad(testLoadId);
+
+        // Assert - one set-based UPDATE, the bids are never loaded
+        verify(bidRepository).rejectPendingBids(testLoadId);
+        verify(loadRepository).adjustPendingBidCount(testLoadId, -800);
+        verify(loadRepository, never()).findByIdWithBids(any());
+    }
+
+    @Test
+    @DisplayName("Should reject all pending bids of an open load and report the count")
+    void rejectAllPendingBids_ShouldRejectAndReportCount() {
+        // Arrange
+        testLoad.setStatus(LoadStatus.OPEN_FOR_BIDS);
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(testLoad));
+        when(bidRepository.rejectPendingBids(testLoadId)).thenReturn(3);
+
+        // Act
+        BidRejectionDTO result = loadService.rejectAllPendingBids(testLoadId);
+
+        // Assert
+        assertEquals(3, result.getRejectedBids());
+        assertEquals(LoadStatus.OPEN_FOR_BIDS, testLoad.getStatus());
+        verify(loadRepository).adjustPendingBidCount(testLoadId, -3);
+        verify(eventPublisher).publishEvent(any(LoadChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should not reject bids of a BOOKED load")
+    void rejectAllPendingBids_ShouldThrowForBookedLoad() {
+        // Arrange
+        testLoad.setStatus(LoadStatus.BOOKED);
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(testLoad));
+
+        // Act & Assert
+        assertThrows(InvalidStatusTransitionException.class, () -> loadService.rejectAllPendingBids(testLoadId));
+        verify(bidRepository, never()).rejectPendingBids(any());
+    }
 }
@@ -0,0 +1,59 @@
+package com.kshitizgaur.tms.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TimingWheel.
+ */
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Should fire entries on the first tick at or after their deadline")
+    void advanceTo_ShouldFireEntriesWhenDue() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 0);
+        assertTrue(wheel.add("a", 15));
+        assertTrue(wheel.add("b", 20));
+        assertFalse(wheel.add("late", 0));
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(19, fired::add);
+        assertEquals(List.of(), fired);
+
+        wheel.advanceTo(20, fired::add);
+        assertEquals(List.of("a", "b"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should cascade far deadlines through higher levels without firing early")
+    void advanceTo_ShouldCascadeFarDeadlines() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 4, 0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long deadline = 1 + random.nextInt(100_000);
+            deadlines.add(deadline);
+            wheel.add(deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 0; now <= 100_010; now += 7) {
+            long clock = now;
+            wheel.advanceTo(now, deadline -> {
+                assertTrue(deadline <= clock, "fired early: " + deadline + " at " + clock);
+                assertTrue(clock - deadline < 10 + 7, "fired late: " + deadline + " at " + clock);
+                fired.add(deadline);
+            });
+        }
+
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(0, wheel.size());
+    }
+}